@@ -0,0 +1,206 @@
+package benchmark.strman;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.binary.StringUtils;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base64、 Hex以及DigestUtils的基准测试， 输入为对应文本的UTF-8字节。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"16", "1024", "65536", "1048576"})
+    public int size;
+
+    @Param({"ASCII", "CJK", "ASTRAL"})
+    public TextKind kind;
+
+    private String text;
+    private byte[] bytes;
+    private byte[] base64Bytes;
+    private String base64String;
+    private char[] hexChars;
+    private char[] hexTarget;
+    private byte[] bytesTarget;
+    private StringBuilder textBuilder;
+    private ByteBuffer directBytes;
+    private ByteBuffer directBase64;
+    private ByteBuffer directTarget;
+    private Base64 base64Codec;
+
+    @Setup
+    public void setup() {
+        text = kind.generate(size);
+        bytes = StringUtils.getBytesUtf8(text);
+        base64Bytes = Base64.encodeBase64(bytes);
+        base64String = Base64.encodeBase64String(bytes);
+        hexChars = Hex.encodeHex(bytes);
+        hexTarget = new char[hexChars.length];
+        bytesTarget = new byte[bytes.length];
+        textBuilder = new StringBuilder(text);
+        directBytes = ByteBuffer.allocateDirect(bytes.length);
+        directBytes.put(bytes).flip();
+        directBase64 = ByteBuffer.allocateDirect(base64Bytes.length);
+        directBase64.put(base64Bytes).flip();
+        directTarget = ByteBuffer.allocateDirect(Math.max(base64Bytes.length, bytes.length));
+        base64Codec = new Base64(0);
+    }
+
+    @Benchmark
+    public byte[] base64Encode() {
+        return Base64.encodeBase64(bytes);
+    }
+
+    @Benchmark
+    public byte[] base64EncodeJdk() {
+        return java.util.Base64.getEncoder().encode(bytes);
+    }
+
+    @Benchmark
+    public byte[] base64EncodeChunked() {
+        return Base64.encodeBase64Chunked(bytes);
+    }
+
+    @Benchmark
+    public byte[] base64EncodeUrlSafe() {
+        return Base64.encodeBase64URLSafe(bytes);
+    }
+
+    @Benchmark
+    public String base64EncodeString() {
+        return Base64.encodeBase64String(bytes);
+    }
+
+    @Benchmark
+    public String base64EncodeStringUtf8() {
+        return Base64.encodeBase64StringUtf8(text, true);
+    }
+
+    @Benchmark
+    public byte[] base64DecodeChars() {
+        return Base64.decodeBase64((CharSequence) base64String);
+    }
+
+    @Benchmark
+    public int base64EncodeBuffer() {
+        directTarget.clear();
+        base64Codec.encode(directBytes.duplicate(), directTarget, true);
+        return directTarget.position();
+    }
+
+    @Benchmark
+    public int base64DecodeBuffer() {
+        directTarget.clear();
+        base64Codec.decode(directBase64.duplicate(), directTarget, true);
+        return directTarget.position();
+    }
+
+    @Benchmark
+    public byte[] base64DecodeBytes() {
+        return Base64.decodeBase64(base64Bytes);
+    }
+
+    @Benchmark
+    public byte[] base64DecodeJdk() {
+        return java.util.Base64.getDecoder().decode(base64Bytes);
+    }
+
+    @Benchmark
+    public byte[] base64DecodeString() {
+        return Base64.decodeBase64(base64String);
+    }
+
+    @Benchmark
+    public char[] hexEncode() {
+        return Hex.encodeHex(bytes);
+    }
+
+    @Benchmark
+    public String hexEncodeString() {
+        return Hex.encodeHexString(bytes);
+    }
+
+    @Benchmark
+    public int hexEncodeInto() {
+        return Hex.encodeHex(bytes, 0, bytes.length, hexTarget, 0);
+    }
+
+    @Benchmark
+    public byte[] hexDecode() throws DecoderException {
+        return Hex.decodeHex(hexChars);
+    }
+
+    @Benchmark
+    public int hexDecodeInto() throws DecoderException {
+        return Hex.decodeHex(hexChars, 0, hexChars.length, bytesTarget, 0);
+    }
+
+    @Benchmark
+    public String md5Hex() {
+        return DigestUtils.md5Hex(text);
+    }
+
+    @Benchmark
+    public byte[] md5Bytes() {
+        return DigestUtils.md5(bytes);
+    }
+
+    @Benchmark
+    public String md5HexStream() throws IOException {
+        return DigestUtils.md5Hex(new ByteArrayInputStream(bytes));
+    }
+
+    @Benchmark
+    public byte[] md5CharSequence() {
+        return DigestUtils.digest(DigestUtils.getDigest("MD5"), textBuilder);
+    }
+
+    @Benchmark
+    public byte[] md5DirectBuffer() {
+        return DigestUtils.digest(DigestUtils.getDigest("MD5"), directBytes);
+    }
+
+    @Benchmark
+    public String shaHex() {
+        return DigestUtils.shaHex(text);
+    }
+
+    @Benchmark
+    public String sha256Hex() {
+        return DigestUtils.sha256Hex(text);
+    }
+
+    @Benchmark
+    public String sha384Hex() {
+        return DigestUtils.sha384Hex(text);
+    }
+
+    @Benchmark
+    public String sha512Hex() {
+        return DigestUtils.sha512Hex(text);
+    }
+}
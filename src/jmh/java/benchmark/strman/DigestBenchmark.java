@@ -0,0 +1,68 @@
+package benchmark.strman;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.binary.StringUtils;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import strman.Strman;
+
+/**
+ * 32个线程同时计算短字符串摘要时每次调用的开销。 <br/>
+ * pooled使用DigestUtils中每个线程复用的MessageDigest， getInstance每次调用MessageDigest.getInstance， 为原有的做法。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Threads(32)
+@Fork(1)
+public class DigestBenchmark {
+
+    @Param({"MD5", "SHA-1", "SHA-256", "SHA-512"})
+    public String algorithm;
+
+    @Param({"16", "1024"})
+    public int size;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        text = TextKind.ASCII.generate(size);
+    }
+
+    @Benchmark
+    public String pooled() {
+        if ("MD5".equals(algorithm)) {
+            return Strman.MD5(text);
+        } else if ("SHA-1".equals(algorithm)) {
+            return DigestUtils.shaHex(text);
+        } else if ("SHA-256".equals(algorithm)) {
+            return DigestUtils.sha256Hex(text);
+        }
+        return DigestUtils.sha512Hex(text);
+    }
+
+    @Benchmark
+    public String getInstance() throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        return Hex.encodeHexString(digest.digest(StringUtils.getBytesUtf8(text)));
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark.strman;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import strman.NeedleMatcher;
+import strman.Strman;
+
+/**
+ * 多个关键字的查找： 编译后的自动机只扫描一遍输入， perNeedle为逐个调用contains的做法， 作为对照。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class NeedleBenchmark {
+
+    @Param({"1024", "65536"})
+    public int size;
+
+    @Param({"10", "300"})
+    public int count;
+
+    @Param({"ASCII", "CJK"})
+    public TextKind kind;
+
+    private String text;
+    private String[] needles;
+    private NeedleMatcher matcher;
+
+    @Setup
+    public void setup() {
+        text = kind.generate(size);
+        String[] words = kind.words();
+        needles = new String[count];
+        for (int i = 0; i < count; i++) {
+            // 除了最后一个以外都不会出现在文本中， containsAll和matching必须扫描完整个输入
+            needles[i] = i == count - 1 ? kind.needle() : words[i % words.length] + "#" + i;
+        }
+        matcher = Strman.compileNeedles(needles, false);
+    }
+
+    @Benchmark
+    public boolean containsAll() {
+        return matcher.containsAll(text);
+    }
+
+    @Benchmark
+    public BitSet matching() {
+        return matcher.matching(text);
+    }
+
+    @Benchmark
+    public int perNeedle() {
+        int found = 0;
+        for (String needle : needles) {
+            if (Strman.contains(text, needle, false)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
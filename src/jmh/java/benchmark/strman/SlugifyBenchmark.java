@@ -0,0 +1,74 @@
+package benchmark.strman;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import strman.Slugifier;
+import strman.Strman;
+
+/**
+ * slugify的耗时与内存分配。 <br/>
+ * 使用gc profiler运行时， slugify的gc.alloc.rate.norm应当只随结果长度增长，
+ * slugifyTo写入复用的StringBuilder， 每次调用的分配应当接近0； legacyPipeline为原有的多步实现， 作为对照。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SlugifyBenchmark {
+
+    @Param({"16", "1024", "65536", "1048576"})
+    public int size;
+
+    @Param({"ASCII", "CJK", "ASTRAL"})
+    public TextKind kind;
+
+    private String text;
+    private StringBuilder out;
+
+    @Setup
+    public void setup() {
+        text = kind.generate(size);
+        out = new StringBuilder(size * 2);
+    }
+
+    @Benchmark
+    public String slugify() {
+        return Strman.slugify(text);
+    }
+
+    @Benchmark
+    public StringBuilder slugifyTo() throws IOException {
+        out.setLength(0);
+        Slugifier.getInstance().slugifyTo(out, text);
+        return out;
+    }
+
+    @Benchmark
+    public String legacyPipeline() {
+        String transliterated = Strman.transliterate(Strman.collapseWhitespace(text.trim().toLowerCase()));
+        String[] words = Strman.words(transliterated.replace("&", "-and-"));
+        StringBuilder builder = new StringBuilder();
+        for (String word : words) {
+            if (builder.length() > 0) {
+                builder.append('-');
+            }
+            builder.append(word);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,638 @@
+package benchmark.strman;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import strman.FormatTemplate;
+import strman.Strman;
+import strman.StrmanBatch;
+import strman.StrmanParallel;
+
+/**
+ * Strman中所有公共静态方法的基准测试。 <br/>
+ * 输入文本长度从16到1M个字符， 并分别使用ASCII、 中日韩以及辅助平面字符。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class StrmanBenchmark {
+
+    @Param({"16", "1024", "65536", "1048576"})
+    public int size;
+
+    @Param({"ASCII", "CJK", "ASTRAL"})
+    public TextKind kind;
+
+    private String text;
+    private StringBuilder textBuilder;
+    private StringBuilder sink;
+    private String upper;
+    private String needle;
+    private String[] needles;
+    private String[] words;
+    private String[] wordsOut;
+    private StrmanBatch batch;
+    private StrmanParallel parallel;
+    private String template;
+    private FormatTemplate compiledTemplate;
+    private String binEncoded;
+    private String decEncoded;
+    private String hexEncoded;
+    private String base64Encoded;
+    private String htmlEncoded;
+    private int half;
+
+    @Setup
+    public void setup() {
+        text = kind.generate(size);
+        textBuilder = new StringBuilder(text);
+        sink = new StringBuilder(size * 5);
+        upper = text.toUpperCase();
+        needle = kind.needle();
+        needles = kind.words();
+        words = text.split(" ");
+        wordsOut = new String[words.length];
+        batch = Strman.batch();
+        parallel = Strman.parallel();
+        half = size / 2;
+        if (Character.isLowSurrogate(text.charAt(half))) {
+            half--;
+        }
+
+        StringBuilder builder = new StringBuilder(text.length() + text.length() / 8);
+        for (int i = 0; i < text.length(); i++) {
+            if (i % 64 == 0) {
+                builder.append("{").append(i / 64 % 2).append("}");
+            }
+            builder.append(text.charAt(i));
+        }
+        template = builder.toString();
+        compiledTemplate = Strman.compileFormat(template);
+
+        binEncoded = Strman.binEncode(text);
+        decEncoded = Strman.decEncode(text);
+        hexEncoded = Strman.hexEncode(text);
+        base64Encoded = Strman.base64Encode(text);
+        htmlEncoded = text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    @Benchmark
+    public String append() {
+        return Strman.append(text, needle, needle);
+    }
+
+    @Benchmark
+    public String appendArray() {
+        return Strman.appendArray(text, needles);
+    }
+
+    @Benchmark
+    public String at() {
+        return Strman.at(text, -1);
+    }
+
+    @Benchmark
+    public String[] between() {
+        return Strman.between(text, "<", ">");
+    }
+
+    @Benchmark
+    public String[] chars() {
+        return Strman.chars(text);
+    }
+
+    @Benchmark
+    public String chain() {
+        return Strman.ensureRight(Strman.removeLeft(Strman.collapseWhitespace(text), needle), "/");
+    }
+
+    @Benchmark
+    public String chainBuilder() {
+        return Strman.builder(text).collapseWhitespace().removeLeft(needle).ensureRight("/").toString();
+    }
+
+    @Benchmark
+    public String collapseWhitespace() {
+        return Strman.collapseWhitespace(text);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return Strman.contains(text, needle);
+    }
+
+    @Benchmark
+    public boolean containsCaseSensitive() {
+        return Strman.contains(text, needle, true);
+    }
+
+    @Benchmark
+    public boolean containsCharSequence() {
+        return Strman.contains(textBuilder, needle);
+    }
+
+    @Benchmark
+    public boolean containsToString() {
+        return Strman.contains(textBuilder.toString(), needle);
+    }
+
+    @Benchmark
+    public boolean containsAll() {
+        return Strman.containsAll(text, needles);
+    }
+
+    @Benchmark
+    public boolean containsAllCaseSensitive() {
+        return Strman.containsAll(text, needles, true);
+    }
+
+    @Benchmark
+    public boolean containsAny() {
+        return Strman.containsAny(text, needles);
+    }
+
+    @Benchmark
+    public boolean containsAnyCaseSensitive() {
+        return Strman.containsAny(text, needles, true);
+    }
+
+    @Benchmark
+    public long countSubstr() {
+        return Strman.countSubstr(text, needle);
+    }
+
+    @Benchmark
+    public long countSubstrIgnoreCaseOverlapping() {
+        return Strman.countSubstr(text, needle, false, true);
+    }
+
+    @Benchmark
+    public long countSubstrParallel() {
+        return Strman.countSubstrParallel(text, needle, true, false);
+    }
+
+    @Benchmark
+    public boolean endsWith() {
+        return Strman.endsWith(text, needle);
+    }
+
+    @Benchmark
+    public boolean endsWithIgnoreCase() {
+        return Strman.endsWith(text, needle, false);
+    }
+
+    @Benchmark
+    public boolean endsWithPosition() {
+        return Strman.endsWith(text, needle, half, false);
+    }
+
+    @Benchmark
+    public String ensureLeft() {
+        return Strman.ensureLeft(text, needle);
+    }
+
+    @Benchmark
+    public String ensureLeftIgnoreCase() {
+        return Strman.ensureLeft(text, needle, false);
+    }
+
+    @Benchmark
+    public String base64Decode() {
+        return Strman.base64Decode(base64Encoded);
+    }
+
+    @Benchmark
+    public String base64Encode() {
+        return Strman.base64Encode(text);
+    }
+
+    @Benchmark
+    public String md5() {
+        return Strman.MD5(text);
+    }
+
+    @Benchmark
+    public String[] md5Each() {
+        for (int i = 0; i < words.length; i++) {
+            wordsOut[i] = Strman.MD5(words[i]);
+        }
+        return wordsOut;
+    }
+
+    @Benchmark
+    public String[] md5Batch() {
+        batch.md5(words, wordsOut);
+        return wordsOut;
+    }
+
+    @Benchmark
+    public String[] md5Parallel() {
+        parallel.md5(words, wordsOut);
+        return wordsOut;
+    }
+
+    @Benchmark
+    public String binDecode() {
+        return Strman.binDecode(binEncoded);
+    }
+
+    @Benchmark
+    public String binEncode() {
+        return Strman.binEncode(text);
+    }
+
+    @Benchmark
+    public String decDecode() {
+        return Strman.decDecode(decEncoded);
+    }
+
+    @Benchmark
+    public String decEncode() {
+        return Strman.decEncode(text);
+    }
+
+    @Benchmark
+    public String ensureRight() {
+        return Strman.ensureRight(text, needle);
+    }
+
+    @Benchmark
+    public String ensureRightIgnoreCase() {
+        return Strman.ensureRight(text, needle, false);
+    }
+
+    @Benchmark
+    public String first() {
+        return Strman.first(text, half);
+    }
+
+    @Benchmark
+    public String head() {
+        return Strman.head(text);
+    }
+
+    @Benchmark
+    public String format() {
+        return Strman.format(template, needle, "strman");
+    }
+
+    @Benchmark
+    public String formatCompiled() {
+        return compiledTemplate.format(needle, "strman");
+    }
+
+    @Benchmark
+    public String hexDecode() {
+        return Strman.hexDecode(hexEncoded);
+    }
+
+    @Benchmark
+    public String hexEncode() {
+        return Strman.hexEncode(text);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return Strman.indexOf(text, needle, 0, true);
+    }
+
+    @Benchmark
+    public int indexOfIgnoreCase() {
+        return Strman.indexOf(text, needle, 0, false);
+    }
+
+    @Benchmark
+    public boolean unequal() {
+        return Strman.unequal(text, upper);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Benchmark
+    public boolean inequal() {
+        return Strman.inequal(text, upper);
+    }
+
+    @Benchmark
+    public String insert() {
+        return Strman.insert(text, needle, half);
+    }
+
+    @Benchmark
+    public boolean isUpperCase() {
+        return Strman.isUpperCase(upper);
+    }
+
+    @Benchmark
+    public boolean isLowerCase() {
+        return Strman.isLowerCase(text);
+    }
+
+    @Benchmark
+    public String last() {
+        return Strman.last(text, half);
+    }
+
+    @Benchmark
+    public String leftPad() {
+        return Strman.leftPad(text, " ", size * 2);
+    }
+
+    @Benchmark
+    public boolean isString() {
+        return Strman.isString(text);
+    }
+
+    @Benchmark
+    public int lastIndexOf() {
+        return Strman.lastIndexOf(text, needle);
+    }
+
+    @Benchmark
+    public int lastIndexOfIgnoreCase() {
+        return Strman.lastIndexOf(text, needle, false);
+    }
+
+    @Benchmark
+    public int lastIndexOfOffset() {
+        return Strman.lastIndexOf(text, needle, half, false);
+    }
+
+    @Benchmark
+    public String leftTrim() {
+        return Strman.leftTrim(text);
+    }
+
+    @Benchmark
+    public int length() {
+        return Strman.length(text);
+    }
+
+    @Benchmark
+    public String prepend() {
+        return Strman.prepend(text, needle, needle);
+    }
+
+    @Benchmark
+    public String prependArray() {
+        return Strman.prependArray(text, needles);
+    }
+
+    @Benchmark
+    public String[] removeEmptyStrings() {
+        return Strman.removeEmptyStrings(words);
+    }
+
+    @Benchmark
+    public String removeLeft() {
+        return Strman.removeLeft(text, needle);
+    }
+
+    @Benchmark
+    public String removeLeftIgnoreCase() {
+        return Strman.removeLeft(text, needle, false);
+    }
+
+    @Benchmark
+    public String removeNonWords() {
+        return Strman.removeNonWords(text);
+    }
+
+    @Benchmark
+    public String removeRight() {
+        return Strman.removeRight(text, needle);
+    }
+
+    @Benchmark
+    public String removeRightIgnoreCase() {
+        return Strman.removeRight(text, needle, false);
+    }
+
+    @Benchmark
+    public String removeSpaces() {
+        return Strman.removeSpaces(text);
+    }
+
+    @Benchmark
+    public String repeat() {
+        return Strman.repeat(text, 4);
+    }
+
+    @Benchmark
+    public String replace() {
+        return Strman.replace(text, needle, "-", true);
+    }
+
+    @Benchmark
+    public String replaceIgnoreCase() {
+        return Strman.replace(text, needle, "-", false);
+    }
+
+    @Benchmark
+    public String reverse() {
+        return Strman.reverse(text);
+    }
+
+    @Benchmark
+    public String rightPad() {
+        return Strman.rightPad(text, " ", size * 2);
+    }
+
+    @Benchmark
+    public String rightTrim() {
+        return Strman.rightTrim(text);
+    }
+
+    @Benchmark
+    public String safeTruncate() {
+        return Strman.safeTruncate(text, half, "...");
+    }
+
+    @Benchmark
+    public String[] split() {
+        return Strman.split(text, " ");
+    }
+
+    @Benchmark
+    public String[] words() {
+        return Strman.words(text);
+    }
+
+    @Benchmark
+    public String truncate() {
+        return Strman.truncate(text, half, "...");
+    }
+
+    @Benchmark
+    public String htmlDecode() {
+        return Strman.htmlDecode(htmlEncoded);
+    }
+
+    @Benchmark
+    public String htmlEncode() {
+        return Strman.htmlEncode(text);
+    }
+
+    @Benchmark
+    public String shuffle() {
+        return Strman.shuffle(text);
+    }
+
+    @Benchmark
+    public String slice() {
+        return Strman.slice(text, 0, half);
+    }
+
+    @Benchmark
+    public String slugify() {
+        return Strman.slugify(text);
+    }
+
+    @Benchmark
+    public String[] slugifyEach() {
+        for (int i = 0; i < words.length; i++) {
+            wordsOut[i] = Strman.slugify(words[i]);
+        }
+        return wordsOut;
+    }
+
+    @Benchmark
+    public String[] slugifyBatch() {
+        batch.slugify(words, wordsOut);
+        return wordsOut;
+    }
+
+    @Benchmark
+    public String[] slugifyParallel() {
+        parallel.slugify(words, wordsOut);
+        return wordsOut;
+    }
+
+    @Benchmark
+    public String transliterate() {
+        return Strman.transliterate(text);
+    }
+
+    @Benchmark
+    public String surround() {
+        return Strman.surround(text, "<", ">");
+    }
+
+    @Benchmark
+    public String toCamelCase() {
+        return Strman.toCamelCase(text);
+    }
+
+    @Benchmark
+    public String toStudlyCase() {
+        return Strman.toStudlyCase(text);
+    }
+
+    @Benchmark
+    public String tail() {
+        return Strman.tail(text);
+    }
+
+    @Benchmark
+    public String toDecamelize() {
+        return Strman.toDecamelize(text, " ");
+    }
+
+    @Benchmark
+    public int toSnakeCaseTo() throws IOException {
+        sink.setLength(0);
+        Strman.toSnakeCaseTo(sink, text);
+        return sink.length();
+    }
+
+    @Benchmark
+    public int hexEncodeTo() throws IOException {
+        sink.setLength(0);
+        Strman.hexEncodeTo(sink, text);
+        return sink.length();
+    }
+
+    @Benchmark
+    public String toKebabCase() {
+        return Strman.toKebabCase(text);
+    }
+
+    @Benchmark
+    public String toSnakeCase() {
+        return Strman.toSnakeCase(text);
+    }
+
+    @Benchmark
+    public String decode() {
+        return Strman.decode(hexEncoded, 4, 16);
+    }
+
+    @Benchmark
+    public String encode() {
+        return Strman.encode(text, 4, 16);
+    }
+
+    @Benchmark
+    public String join() {
+        return Strman.join(words, ",");
+    }
+
+    @Benchmark
+    public String capitalize() {
+        return Strman.capitalize(text);
+    }
+
+    @Benchmark
+    public String lowerFirst() {
+        return Strman.lowerFirst(upper);
+    }
+
+    @Benchmark
+    public boolean isEnclosedBetween() {
+        return Strman.isEnclosedBetween(text, needle);
+    }
+
+    @Benchmark
+    public boolean isEnclosedBetweenLeftRight() {
+        return Strman.isEnclosedBetween(text, "<", ">");
+    }
+
+    @Benchmark
+    public String upperFirst() {
+        return Strman.upperFirst(text);
+    }
+
+    @Benchmark
+    public String trimStart() {
+        return Strman.trimStart(text);
+    }
+
+    @Benchmark
+    public String trimStartChars() {
+        return Strman.trimStart(text, " ");
+    }
+
+    @Benchmark
+    public String trimEnd() {
+        return Strman.trimEnd(text);
+    }
+
+    @Benchmark
+    public String trimEndChars() {
+        return Strman.trimEnd(text, " ");
+    }
+}
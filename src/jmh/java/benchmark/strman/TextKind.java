@@ -0,0 +1,79 @@
+package benchmark.strman;
+
+import java.util.Random;
+
+/**
+ * 基准测试使用的文本类型， 分别覆盖纯ASCII、 中日韩(BMP)以及辅助平面(代理对)字符。 <br/>
+ * 同一种类型、 同一长度生成的文本总是相同的， 方便在不同版本之间对比结果。
+ */
+public enum TextKind {
+
+    ASCII("strman", new String[]{
+            "lorem", "ipsum", "Dolor", "sit", "amet", "foo", "bar", "baz", "quick", "Brown",
+            "fox", "jumps", "over", "lazy", "dog", "&", "<b>", "hello_world", "camelCase", "kebab-case"}),
+
+    CJK("字符串", new String[]{
+            "字符", "处理", "工具", "测试", "数据", "编码", "中文", "文本", "日本語", "한국어",
+            "性能", "基准", "&", "<b>"}),
+
+    ASTRAL("𝒜𝒷", new String[]{
+            "𝒜𝒸", "😀😃", "𠀀𠀁",
+            "𝔘𝔫", "abc", "🎉", "&", "<b>"});
+
+    /*
+     * 每隔多少个字符插入一次needle， 保证查找类的方法在任意长度下都有命中
+     */
+    private static final int NEEDLE_INTERVAL = 1024;
+
+    private final String needle;
+    private final String[] words;
+
+    private TextKind(String needle, String[] words) {
+        this.needle = needle;
+        this.words = words;
+    }
+
+    /**
+     * 得到该类型文本中周期性出现的查找字符串
+     *
+     * @return 查找字符串
+     */
+    public String needle() {
+        return needle;
+    }
+
+    /**
+     * 得到该类型文本使用的单词表
+     *
+     * @return 单词数组
+     */
+    public String[] words() {
+        return words.clone();
+    }
+
+    /**
+     * 生成指定长度（UTF-16字符个数）的文本， 不会在代理对中间截断
+     *
+     * @param length 文本长度
+     * @return 生成的文本
+     */
+    public String generate(int length) {
+        Random random = new Random(length * 31L + ordinal());
+        StringBuilder builder = new StringBuilder(length + 32);
+        int nextNeedle = Math.min(length, NEEDLE_INTERVAL) / 2;
+        while (builder.length() < length) {
+            if (builder.length() >= nextNeedle) {
+                builder.append(needle).append(' ');
+                nextNeedle += NEEDLE_INTERVAL;
+                continue;
+            }
+            builder.append(words[random.nextInt(words.length)]);
+            builder.append(random.nextInt(8) == 0 ? "  " : " ");
+        }
+        builder.setLength(length);
+        if (Character.isHighSurrogate(builder.charAt(length - 1))) {
+            builder.setCharAt(length - 1, ' ');
+        }
+        return builder.toString();
+    }
+}
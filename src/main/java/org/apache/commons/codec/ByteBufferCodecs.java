@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CoderResult;
+import java.util.Arrays;
+
+/**
+ * Adapters from the array-based {@link BinaryEncoder} and {@link BinaryDecoder} to {@link ByteBufferEncoder} and
+ * {@link ByteBufferDecoder}.
+ * <p>
+ * An encoder or decoder that already implements the buffer interface is returned as it is. Any other one is wrapped so
+ * that the input is collected until the end of input is signalled, then encoded or decoded in one call, and the
+ * result handed out over as many calls as the output buffers need. This keeps existing codecs usable by code written
+ * against the buffer interfaces, at the cost of holding the whole input and output in memory.
+ * </p>
+ * 
+ * @author Apache Software Foundation
+ */
+public final class ByteBufferCodecs {
+
+    private ByteBufferCodecs() {
+    }
+
+    /**
+     * Returns the given encoder as a {@link ByteBufferEncoder}.
+     * 
+     * @param encoder
+     *            the encoder to adapt
+     * @return <code>encoder</code> itself if it implements {@link ByteBufferEncoder}, an adapter otherwise
+     */
+    public static ByteBufferEncoder adapt(BinaryEncoder encoder) {
+        if (encoder instanceof ByteBufferEncoder) {
+            return (ByteBufferEncoder) encoder;
+        }
+        return new EncoderAdapter(encoder);
+    }
+
+    /**
+     * Returns the given decoder as a {@link ByteBufferDecoder}.
+     * 
+     * @param decoder
+     *            the decoder to adapt
+     * @return <code>decoder</code> itself if it implements {@link ByteBufferDecoder}, an adapter otherwise
+     */
+    public static ByteBufferDecoder adapt(BinaryDecoder decoder) {
+        if (decoder instanceof ByteBufferDecoder) {
+            return (ByteBufferDecoder) decoder;
+        }
+        return new DecoderAdapter(decoder);
+    }
+
+    /**
+     * The input collected and the output still to be handed out by an adapter.
+     */
+    private static class Pending {
+
+        private byte[] input = new byte[0];
+
+        private int inputLength;
+
+        private byte[] output;
+
+        private int outputPos;
+
+        /**
+         * Whether the result of the last call of the wrapped codec is still being handed out.
+         */
+        boolean hasOutput() {
+            return output != null;
+        }
+
+        /**
+         * Appends the remaining bytes of <code>src</code> to the input.
+         */
+        void collect(ByteBuffer src) {
+            int len = src.remaining();
+            if (input.length - inputLength < len) {
+                input = Arrays.copyOf(input, Math.max(input.length * 2, inputLength + len));
+            }
+            src.get(input, inputLength, len);
+            inputLength += len;
+        }
+
+        /**
+         * Returns the input collected so far and starts a new one.
+         */
+        byte[] takeInput() {
+            byte[] b = input.length == inputLength ? input : Arrays.copyOf(input, inputLength);
+            input = new byte[0];
+            inputLength = 0;
+            return b;
+        }
+
+        /**
+         * Hands out as much of <code>result</code> as fits into <code>dst</code>, keeping the rest for later calls.
+         */
+        CoderResult output(byte[] result, ByteBuffer dst) {
+            output = result;
+            outputPos = 0;
+            return drain(dst);
+        }
+
+        /**
+         * Hands out as much of the pending output as fits into <code>dst</code>.
+         */
+        CoderResult drain(ByteBuffer dst) {
+            int len = Math.min(output.length - outputPos, dst.remaining());
+            dst.put(output, outputPos, len);
+            outputPos += len;
+            if (outputPos < output.length) {
+                return CoderResult.OVERFLOW;
+            }
+            output = null;
+            return CoderResult.UNDERFLOW;
+        }
+    }
+
+    private static final class EncoderAdapter extends Pending implements ByteBufferEncoder {
+
+        private final BinaryEncoder encoder;
+
+        EncoderAdapter(BinaryEncoder encoder) {
+            this.encoder = encoder;
+        }
+
+        public CoderResult encode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) throws EncoderException {
+            if (hasOutput()) {
+                return drain(dst);
+            }
+            collect(src);
+            if (!endOfInput) {
+                return CoderResult.UNDERFLOW;
+            }
+            return output(encoder.encode(takeInput()), dst);
+        }
+
+        public byte[] encode(byte[] pArray) throws EncoderException {
+            return encoder.encode(pArray);
+        }
+
+        public Object encode(Object pObject) throws EncoderException {
+            return encoder.encode(pObject);
+        }
+    }
+
+    private static final class DecoderAdapter extends Pending implements ByteBufferDecoder {
+
+        private final BinaryDecoder decoder;
+
+        DecoderAdapter(BinaryDecoder decoder) {
+            this.decoder = decoder;
+        }
+
+        public CoderResult decode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) throws DecoderException {
+            if (hasOutput()) {
+                return drain(dst);
+            }
+            collect(src);
+            if (!endOfInput) {
+                return CoderResult.UNDERFLOW;
+            }
+            return output(decoder.decode(takeInput()), dst);
+        }
+
+        public byte[] decode(byte[] pArray) throws DecoderException {
+            return decoder.decode(pArray);
+        }
+
+        public Object decode(Object pObject) throws DecoderException {
+            return decoder.decode(pObject);
+        }
+    }
+}
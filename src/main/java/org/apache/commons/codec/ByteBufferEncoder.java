@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CoderResult;
+
+/**
+ * A {@link BinaryEncoder} that can also encode directly from one {@link ByteBuffer} into another, so that slices of
+ * network or file buffers are encoded in place instead of being copied into arrays first.
+ * <p>
+ * The contract follows {@link java.nio.charset.CharsetEncoder#encode(java.nio.CharBuffer, ByteBuffer, boolean)}: as
+ * much input is consumed as fits into the output, and the positions of both buffers are advanced. Implementations may
+ * keep state between calls and are therefore not thread-safe. Any {@link BinaryEncoder} can be used through
+ * {@link ByteBufferCodecs#adapt(BinaryEncoder)}.
+ * </p>
+ * 
+ * @author Apache Software Foundation
+ */
+public interface ByteBufferEncoder extends BinaryEncoder {
+
+    /**
+     * Encodes as many bytes as possible from the given input buffer, writing the results to the given output buffer.
+     * 
+     * @param src
+     *            The input buffer
+     * @param dst
+     *            The output buffer
+     * @param endOfInput
+     *            <code>true</code> if, and only if, the invoker can provide no additional input bytes beyond those in
+     *            the given buffer. After a call with <code>true</code> has returned {@link CoderResult#UNDERFLOW} the
+     *            encoder is ready for new input.
+     * @return {@link CoderResult#UNDERFLOW} if all of the input that can be encoded so far has been consumed,
+     *         {@link CoderResult#OVERFLOW} if there is not enough room in <code>dst</code> to go on
+     * @throws EncoderException
+     *             thrown if the Encoder encounters a failure condition during the encoding process.
+     */
+    CoderResult encode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) throws EncoderException;
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.codec;
+
+import java.nio.charset.Charset;
+
+/**
+ * Cached {@link Charset} instances for the encodings named in {@link CharEncoding}, which every implementation of the
+ * Java platform is required to support. Using them avoids looking a charset up by name on every conversion.
+ * 
+ * @see CharEncoding
+ * @see <a href="http://java.sun.com/j2se/1.4.2/docs/api/java/nio/charset/Charset.html">Standard charsets</a>
+ * @author Apache Software Foundation
+ */
+public final class Charsets {
+
+    /**
+     * ISO Latin Alphabet No. 1, a.k.a. ISO-LATIN-1.
+     */
+    public static final Charset ISO_8859_1 = Charset.forName(CharEncoding.ISO_8859_1);
+
+    /**
+     * Seven-bit ASCII, also known as ISO646-US, also known as the Basic Latin block of the Unicode character set.
+     */
+    public static final Charset US_ASCII = Charset.forName(CharEncoding.US_ASCII);
+
+    /**
+     * Sixteen-bit Unicode Transformation Format, The byte order specified by a mandatory initial byte-order mark
+     * (either order accepted on input, big-endian used on output)
+     */
+    public static final Charset UTF_16 = Charset.forName(CharEncoding.UTF_16);
+
+    /**
+     * Sixteen-bit Unicode Transformation Format, big-endian byte order.
+     */
+    public static final Charset UTF_16BE = Charset.forName(CharEncoding.UTF_16BE);
+
+    /**
+     * Sixteen-bit Unicode Transformation Format, little-endian byte order.
+     */
+    public static final Charset UTF_16LE = Charset.forName(CharEncoding.UTF_16LE);
+
+    /**
+     * Eight-bit Unicode Transformation Format.
+     */
+    public static final Charset UTF_8 = Charset.forName(CharEncoding.UTF_8);
+
+    private static final Charset[] REQUIRED = {ISO_8859_1, US_ASCII, UTF_16, UTF_16BE, UTF_16LE, UTF_8};
+
+    private Charsets() {
+    }
+
+    /**
+     * Returns the charset of the given name. The names of {@link CharEncoding} are answered from the cached instances,
+     * any other name is looked up with {@link Charset#forName(String)}.
+     * 
+     * @param charsetName
+     *            The name of the requested charset
+     * @return A charset object for the named charset
+     * @throws java.nio.charset.IllegalCharsetNameException
+     *             If the given charset name is illegal
+     * @throws java.nio.charset.UnsupportedCharsetException
+     *             If no support for the named charset is available in this instance of the Java virtual machine
+     */
+    public static Charset toCharset(String charsetName) {
+        for (int i = 0; i < REQUIRED.length; i++) {
+            if (REQUIRED[i].name().equalsIgnoreCase(charsetName)) {
+                return REQUIRED[i];
+            }
+        }
+        return Charset.forName(charsetName);
+    }
+}
@@ -17,10 +17,18 @@
 
 package org.apache.commons.codec.binary;
 
+import java.io.IOException;
 import java.math.BigInteger;
-
-import org.apache.commons.codec.BinaryDecoder;
-import org.apache.commons.codec.BinaryEncoder;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.util.Arrays;
+
+import org.apache.commons.codec.ByteBufferDecoder;
+import org.apache.commons.codec.ByteBufferEncoder;
+import org.apache.commons.codec.Charsets;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.EncoderException;
 
@@ -50,7 +58,7 @@ import org.apache.commons.codec.EncoderException;
  * @since 1.0
  * @version $Id: Base64.java 801706 2009-08-06 16:27:06Z niallp $
  */
-public class Base64 implements BinaryEncoder, BinaryDecoder {
+public class Base64 implements ByteBufferEncoder, ByteBufferDecoder {
     private static final int DEFAULT_BUFFER_RESIZE_FACTOR = 2;
 
     private static final int DEFAULT_BUFFER_SIZE = 8192;
@@ -67,6 +75,11 @@ public class Base64 implements BinaryEncoder, BinaryDecoder {
      */
     static final int CHUNK_SIZE = 76;
 
+    /**
+     * Number of characters copied at a time out of the text being encoded.
+     */
+    private static final int UTF8_CHUNK_SIZE = 1024;
+
     /**
      * Chunk separator per RFC 2045 section 2.1.
      *
@@ -132,6 +145,17 @@ public class Base64 implements BinaryEncoder, BinaryDecoder {
             35, 36, 37, 38, 39, 40, 41, 42, 43, 44, 45, 46, 47, 48, 49, 50, 51
     };
 
+    /**
+     * {@link #DECODE_TABLE} extended to all 256 byte values, indexed by <code>b &amp; 0xFF</code>, so the one-shot
+     * decoder needs no bounds check per byte.
+     */
+    private static final byte[] DECODE_LOOKUP = new byte[256];
+
+    static {
+        Arrays.fill(DECODE_LOOKUP, (byte) -1);
+        System.arraycopy(DECODE_TABLE, 0, DECODE_LOOKUP, 0, DECODE_TABLE.length);
+    }
+
     /** Mask used to extract 6 bits, used when encoding */
     private static final int MASK_6BITS = 0x3f;
 
@@ -460,6 +484,9 @@ public class Base64 implements BinaryEncoder, BinaryDecoder {
             if (buffer == null || buffer.length - pos < encodeSize) {
                 resizeBuffer();
             }
+            // Terminate the last line unless it is empty, judged by the line state rather than by pos since a
+            // streaming consumer may already have read everything out of the buffer.
+            boolean openLine = currentLinePos > 0 || modulus != 0;
             switch (modulus) {
                 case 1 :
                     buffer[pos++] = encodeTable[(x >> 2) & MASK_6BITS];
@@ -481,7 +508,7 @@ public class Base64 implements BinaryEncoder, BinaryDecoder {
                     }
                     break;
             }
-            if (lineLength > 0 && pos > 0) {
+            if (lineLength > 0 && openLine) {
                 System.arraycopy(lineSeparator, 0, buffer, pos, lineSeparator.length);
                 pos += lineSeparator.length;
             }
@@ -571,6 +598,9 @@ public class Base64 implements BinaryEncoder, BinaryDecoder {
         // EOF (-1) and first time '=' character is encountered in stream.
         // This approach makes the '=' padding characters completely optional.
         if (eof && modulus != 0) {
+            if (buffer == null || buffer.length - pos < decodeSize) {
+                resizeBuffer();
+            }
             x = x << 6;
             switch (modulus) {
                 case 2 :
@@ -691,6 +721,183 @@ public class Base64 implements BinaryEncoder, BinaryDecoder {
         return encodeBase64(binaryData, true);
     }
 
+    /**
+     * Encodes the UTF-8 bytes of a sequence of characters using the base64 algorithm. The bytes are produced a small
+     * block at a time and never stored as a whole; the result is the same as
+     * <code>encodeBase64String(StringUtils.getBytesUtf8(text))</code> when chunked, unpaired surrogates being encoded as
+     * '?'.
+     * 
+     * @param text
+     *            the characters to encode
+     * @param isChunked
+     *            if <code>true</code> the output is chunked into 76 character blocks separated by CRLF
+     * @return String containing Base64 characters, or <code>null</code> if <code>text</code> is <code>null</code>
+     * @throws IllegalArgumentException
+     *             Thrown when the output would be longer than {@link Integer#MAX_VALUE}
+     */
+    public static String encodeBase64StringUtf8(CharSequence text, boolean isChunked) {
+        if (text == null) {
+            return null;
+        }
+        Base64 b64 = isChunked ? new Base64() : new Base64(0);
+        long len = b64.getEncodedLength(utf8Length(text));
+        if (len > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Input too big, the output would be bigger (" + len
+                + ") than the maximum array size");
+        }
+        byte[] out = new byte[(int) len];
+        try {
+            b64.encodeUtf8(text, out, null, 0, null);
+        } catch (IOException e) {
+            // there is no Appendable to throw it
+            throw new IllegalStateException(e);
+        }
+        return new String(out, Charsets.ISO_8859_1);
+    }
+
+    /**
+     * Encodes the UTF-8 bytes of a sequence of characters using the base64 algorithm into the given array. The array
+     * must have room for <code>getEncodedLengthUtf8(text, isChunked)</code> characters from <code>dstOff</code>.
+     * 
+     * @param text
+     *            the characters to encode
+     * @param isChunked
+     *            if <code>true</code> the output is chunked into 76 character blocks separated by CRLF
+     * @param dst
+     *            the array receiving the Base64 characters
+     * @param dstOff
+     *            the index in <code>dst</code> of the first character written
+     * @return the index in <code>dst</code> following the last character written
+     * @throws IndexOutOfBoundsException
+     *             if <code>dst</code> is too short
+     * @see #getEncodedLengthUtf8(CharSequence, boolean)
+     */
+    public static int encodeBase64Utf8(CharSequence text, boolean isChunked, char[] dst, int dstOff) {
+        Base64 b64 = isChunked ? new Base64() : new Base64(0);
+        long len = b64.getEncodedLength(utf8Length(text));
+        if (dstOff < 0 || len > dst.length - dstOff) {
+            throw new IndexOutOfBoundsException("dstOff=" + dstOff + ", len=" + len + ", length=" + dst.length);
+        }
+        try {
+            return b64.encodeUtf8(text, null, dst, dstOff, null);
+        } catch (IOException e) {
+            // there is no Appendable to throw it
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Appends the base64 encoding of the UTF-8 bytes of a sequence of characters to the given {@link Appendable},
+     * passing the characters through a small fixed-size buffer.
+     * 
+     * @param text
+     *            the characters to encode
+     * @param isChunked
+     *            if <code>true</code> the output is chunked into 76 character blocks separated by CRLF
+     * @param out
+     *            the destination of the Base64 characters
+     * @return <code>out</code>
+     * @throws IOException
+     *             if <code>out</code> throws it
+     */
+    public static Appendable encodeBase64Utf8(CharSequence text, boolean isChunked, Appendable out) throws IOException {
+        Base64 b64 = isChunked ? new Base64() : new Base64(0);
+        if (out instanceof StringBuilder) {
+            long len = b64.getEncodedLength(utf8Length(text));
+            ((StringBuilder) out).ensureCapacity((int) Math.min(Integer.MAX_VALUE, ((StringBuilder) out).length() + len));
+        }
+        b64.encodeUtf8(text, null, null, 0, out);
+        return out;
+    }
+
+    /**
+     * Calculates the number of characters {@link #encodeBase64Utf8(CharSequence, boolean, char[], int)} writes.
+     * 
+     * @param text
+     *            the characters to encode
+     * @param isChunked
+     *            if <code>true</code> the output is chunked into 76 character blocks separated by CRLF
+     * @return the length of the encoded data
+     */
+    public static long getEncodedLengthUtf8(CharSequence text, boolean isChunked) {
+        return (isChunked ? new Base64() : new Base64(0)).getEncodedLength(utf8Length(text));
+    }
+
+    /**
+     * The number of bytes in the UTF-8 encoding of <code>text</code>, counting an unpaired surrogate as the single byte
+     * of its replacement '?'.
+     */
+    private static long utf8Length(CharSequence text) {
+        int n = text.length();
+        long len = n;
+        char[] buf = new char[Math.min(n, UTF8_CHUNK_SIZE)];
+        for (int start = 0; start < n;) {
+            int m = StringUtils.getChars(text, start, buf);
+            start += m;
+            for (int j = 0; j < m; j++) {
+                char c = buf[j];
+                if (c >= 0x80) {
+                    if (c < 0x800) {
+                        len++;
+                    } else if (Character.isHighSurrogate(c) && j + 1 < m && Character.isLowSurrogate(buf[j + 1])) {
+                        // 4 bytes for 2 chars
+                        len += 2;
+                        j++;
+                    } else if (!Character.isSurrogate(c)) {
+                        len += 2;
+                    }
+                }
+            }
+        }
+        return len;
+    }
+
+    /**
+     * Encodes <code>text</code> as UTF-8 a chunk of characters at a time, replacing an unpaired surrogate by '?', and
+     * the UTF-8 bytes as Base64 with {@link #encodeFully(byte[], int, int, byte[], int)}. Only whole lines (or 3-byte
+     * groups if the output is not chunked) are encoded after each chunk, the bytes beyond them move on to the next
+     * chunk. The Base64 characters go to <code>bytes</code> if it is not <code>null</code>, otherwise to
+     * <code>chars</code>. If <code>sink</code> is not <code>null</code> they go to a window of the size of one chunk
+     * instead, which is emptied into <code>sink</code> after every chunk.
+     * 
+     * @return the position following the last byte or character written
+     */
+    private int encodeUtf8(CharSequence text, byte[] bytes, char[] chars, int outPos, Appendable sink) throws IOException {
+        int n = text.length();
+        int unit = lineLength > 0 ? lineLength / 4 * 3 : 3;
+        char[] buf = new char[Math.min(n, UTF8_CHUNK_SIZE)];
+        // the bytes left over from the previous chunk and up to 3 bytes for every character of this one
+        byte[] block = new byte[(int) Math.min(utf8Length(text), unit - 1 + 3L * buf.length)];
+        if (sink != null) {
+            chars = new char[(int) getEncodedLength(block.length)];
+        }
+        CharsetEncoder encoder = StringUtils.getEncoder(Charsets.UTF_8);
+        ByteBuffer target = ByteBuffer.wrap(block);
+        int fill = 0;
+        for (int start = 0; start < n;) {
+            int m = StringUtils.getChars(text, start, buf);
+            start += m;
+            // Buffer methods rather than the covariant JDK 9+ overrides, so this links on Java 7 and 8
+            ((Buffer) target).clear();
+            ((Buffer) target).position(fill);
+            encoder.reset().encode(CharBuffer.wrap(buf, 0, m), target, true);
+            fill = target.position();
+            int len = start < n ? fill - fill % unit : fill;
+            if (bytes != null) {
+                outPos = encodeFully(block, 0, len, bytes, outPos);
+            } else {
+                outPos = encodeFully(block, 0, len, chars, outPos);
+                if (sink != null) {
+                    sink.append(CharBuffer.wrap(chars, 0, outPos));
+                    outPos = 0;
+                }
+            }
+            fill -= len;
+            System.arraycopy(block, len, block, 0, fill);
+        }
+        return outPos;
+    }
+
     /**
      * Decodes an Object using the base64 algorithm. This method is provided in order to satisfy the requirements of the
      * Decoder interface, and will throw a DecoderException if the supplied object is not of type byte[] or String.
@@ -720,7 +927,29 @@ public class Base64 implements BinaryEncoder, BinaryDecoder {
      * @since 1.4
      */
     public byte[] decode(String pArray) {
-        return decode(StringUtils.getBytesUtf8(pArray));
+        return decode((CharSequence) pArray);
+    }
+
+    /**
+     * Decodes a sequence of characters in the Base64 alphabet, with the same result as decoding its UTF-8 bytes but
+     * without creating them.
+     * 
+     * @param pArray
+     *            A sequence of Base64 characters
+     * @return a byte array containing binary data
+     */
+    public byte[] decode(CharSequence pArray) {
+        reset();
+        if (pArray == null) {
+            return null;
+        }
+        int end = pArray.length();
+        while (end > 0 && pArray.charAt(end - 1) == PAD) {
+            end--;
+        }
+        byte[] buf = new byte[(int) (end * 3L / 4)];
+        int len = decodeFully(pArray, 0, end, buf, 0);
+        return len == buf.length ? buf : Arrays.copyOf(buf, len);
     }
 
     /**
@@ -735,21 +964,242 @@ public class Base64 implements BinaryEncoder, BinaryDecoder {
         if (pArray == null || pArray.length == 0) {
             return pArray;
         }
-        long len = (pArray.length * 3) / 4;
-        byte[] buf = new byte[(int) len];
-        setInitialBuffer(buf, 0, buf.length);
-        decode(pArray, 0, pArray.length);
-        decode(pArray, 0, -1); // Notify decoder of EOF.
-
-        // Would be nice to just return buf (like we sometimes do in the encode
-        // logic), but we have no idea what the line-length was (could even be
-        // variable).  So we cannot determine ahead of time exactly how big an
-        // array is necessary.  Hence the need to construct a 2nd byte array to
-        // hold the final result:
-
-        byte[] result = new byte[pos];
-        readResults(result, 0, result.length);
-        return result;
+        // Trailing padding never decodes to anything, so without it this bound is exact for unchunked input.
+        int end = pArray.length;
+        while (end > 0 && pArray[end - 1] == PAD) {
+            end--;
+        }
+        byte[] buf = new byte[(int) (end * 3L / 4)];
+        int len = decodeFully(pArray, 0, end, buf, 0);
+        return len == buf.length ? buf : Arrays.copyOf(buf, len);
+    }
+
+    /**
+     * Decodes the Base64 characters remaining in <code>src</code> into <code>dst</code>, ignoring characters outside
+     * the alphabet like {@link #decode(byte[])}. A group of four characters is only consumed when its three bytes fit
+     * into <code>dst</code>, the characters of an incomplete group are kept in this instance until the rest arrives.
+     * Everything after the first padding character is skipped. A sequence of calls ending with
+     * <code>endOfInput</code> set must not be interleaved with other encode or decode calls on this instance.
+     * 
+     * @param src
+     *            the Base64 characters to decode
+     * @param dst
+     *            the buffer receiving the decoded bytes
+     * @param endOfInput
+     *            <code>true</code> if no more characters follow those remaining in <code>src</code>
+     * @return {@link CoderResult#UNDERFLOW} if all of <code>src</code> has been consumed, {@link CoderResult#OVERFLOW}
+     *         if <code>dst</code> is full
+     */
+    public CoderResult decode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) {
+        if (!eof) {
+            while (src.hasRemaining()) {
+                if (modulus == 0 && src.hasArray() && dst.hasArray()) {
+                    decodeGroups(src, dst);
+                    if (!src.hasRemaining()) {
+                        break;
+                    }
+                }
+                int p = src.position();
+                byte b = src.get(p);
+                if (b == PAD) {
+                    // We're done.
+                    eof = true;
+                    break;
+                }
+                int result = DECODE_LOOKUP[b & MASK_8BITS];
+                if (result >= 0) {
+                    if (modulus == 3 && dst.remaining() < 3) {
+                        return CoderResult.OVERFLOW;
+                    }
+                    x = (x << 6) | result;
+                    modulus = (modulus + 1) & 3;
+                    if (modulus == 0) {
+                        dst.put((byte) (x >> 16));
+                        dst.put((byte) (x >> 8));
+                        dst.put((byte) x);
+                    }
+                }
+                ((Buffer) src).position(p + 1);
+            }
+        }
+        if (eof) {
+            ((Buffer) src).position(src.limit());
+        }
+        if (eof || endOfInput) {
+            if (dst.remaining() < modulus - 1) {
+                return CoderResult.OVERFLOW;
+            }
+            switch (modulus) {
+                case 2 :
+                    dst.put((byte) (x >> 4));
+                    break;
+                case 3 :
+                    dst.put((byte) (x >> 10));
+                    dst.put((byte) (x >> 2));
+                    break;
+            }
+            modulus = 0;
+            eof = eof && !endOfInput;
+        }
+        return CoderResult.UNDERFLOW;
+    }
+
+    /**
+     * Decodes whole groups of four alphabet characters from the arrays of <code>src</code> into those of
+     * <code>dst</code> as long as they fit, advancing both buffers. Stops in front of a group containing any other
+     * character.
+     */
+    private static void decodeGroups(ByteBuffer src, ByteBuffer dst) {
+        byte[] in = src.array();
+        byte[] out = dst.array();
+        int inPos = src.arrayOffset() + src.position();
+        int outPos = dst.arrayOffset() + dst.position();
+        int end = inPos + (Math.min(src.remaining() >> 2, dst.remaining() / 3) << 2);
+        while (inPos < end) {
+            int a = DECODE_LOOKUP[in[inPos] & MASK_8BITS];
+            int b = DECODE_LOOKUP[in[inPos + 1] & MASK_8BITS];
+            int c = DECODE_LOOKUP[in[inPos + 2] & MASK_8BITS];
+            int d = DECODE_LOOKUP[in[inPos + 3] & MASK_8BITS];
+            if ((a | b | c | d) < 0) {
+                break;
+            }
+            int group = a << 18 | b << 12 | c << 6 | d;
+            out[outPos] = (byte) (group >> 16);
+            out[outPos + 1] = (byte) (group >> 8);
+            out[outPos + 2] = (byte) group;
+            outPos += 3;
+            inPos += 4;
+        }
+        ((Buffer) src).position(inPos - src.arrayOffset());
+        ((Buffer) dst).position(outPos - dst.arrayOffset());
+    }
+
+    /**
+     * Decodes <code>inAvail</code> bytes from <code>in</code> in one go, with the same results as the streaming
+     * {@link #decode(byte[], int, int)} followed by EOF: characters outside the alphabet are ignored and the first
+     * padding character ends the data. Groups of four alphabet characters are decoded together, only the groups
+     * containing anything else take the per-byte path. <code>out</code> must have room for
+     * <code>inAvail * 3 / 4</code> bytes.
+     * 
+     * @return the position in <code>out</code> following the last byte written
+     */
+    static int decodeFully(byte[] in, int inPos, int inAvail, byte[] out, int outPos) {
+        int end = inPos + inAvail;
+        int bits = 0;
+        int modulus = 0;
+        while (inPos < end) {
+            if (modulus == 0) {
+                while (end - inPos >= 4) {
+                    int a = DECODE_LOOKUP[in[inPos] & MASK_8BITS];
+                    int b = DECODE_LOOKUP[in[inPos + 1] & MASK_8BITS];
+                    int c = DECODE_LOOKUP[in[inPos + 2] & MASK_8BITS];
+                    int d = DECODE_LOOKUP[in[inPos + 3] & MASK_8BITS];
+                    if ((a | b | c | d) < 0) {
+                        break;
+                    }
+                    int group = a << 18 | b << 12 | c << 6 | d;
+                    out[outPos] = (byte) (group >> 16);
+                    out[outPos + 1] = (byte) (group >> 8);
+                    out[outPos + 2] = (byte) group;
+                    outPos += 3;
+                    inPos += 4;
+                }
+                if (inPos == end) {
+                    break;
+                }
+            }
+            byte b = in[inPos++];
+            if (b == PAD) {
+                // We're done.
+                break;
+            }
+            int result = DECODE_LOOKUP[b & MASK_8BITS];
+            if (result >= 0) {
+                modulus = (modulus + 1) & 3;
+                bits = (bits << 6) + result;
+                if (modulus == 0) {
+                    out[outPos++] = (byte) (bits >> 16);
+                    out[outPos++] = (byte) (bits >> 8);
+                    out[outPos++] = (byte) bits;
+                }
+            }
+        }
+        switch (modulus) {
+            case 2 :
+                out[outPos++] = (byte) (bits >> 4);
+                break;
+            case 3 :
+                out[outPos++] = (byte) (bits >> 10);
+                out[outPos++] = (byte) (bits >> 2);
+                break;
+        }
+        return outPos;
+    }
+
+    /**
+     * Same as {@link #decodeFully(byte[], int, int, byte[], int)} for characters. Characters above 0xFF are ignored
+     * like the bytes of their UTF-8 encoding would be.
+     * 
+     * @return the position in <code>out</code> following the last byte written
+     */
+    static int decodeFully(CharSequence in, int inPos, int inAvail, byte[] out, int outPos) {
+        int end = inPos + inAvail;
+        int bits = 0;
+        int modulus = 0;
+        while (inPos < end) {
+            if (modulus == 0) {
+                while (end - inPos >= 4) {
+                    int a = decodeChar(in.charAt(inPos));
+                    int b = decodeChar(in.charAt(inPos + 1));
+                    int c = decodeChar(in.charAt(inPos + 2));
+                    int d = decodeChar(in.charAt(inPos + 3));
+                    if ((a | b | c | d) < 0) {
+                        break;
+                    }
+                    int group = a << 18 | b << 12 | c << 6 | d;
+                    out[outPos] = (byte) (group >> 16);
+                    out[outPos + 1] = (byte) (group >> 8);
+                    out[outPos + 2] = (byte) group;
+                    outPos += 3;
+                    inPos += 4;
+                }
+                if (inPos == end) {
+                    break;
+                }
+            }
+            char ch = in.charAt(inPos++);
+            if (ch == PAD) {
+                // We're done.
+                break;
+            }
+            int result = decodeChar(ch);
+            if (result >= 0) {
+                modulus = (modulus + 1) & 3;
+                bits = (bits << 6) + result;
+                if (modulus == 0) {
+                    out[outPos++] = (byte) (bits >> 16);
+                    out[outPos++] = (byte) (bits >> 8);
+                    out[outPos++] = (byte) bits;
+                }
+            }
+        }
+        switch (modulus) {
+            case 2 :
+                out[outPos++] = (byte) (bits >> 4);
+                break;
+            case 3 :
+                out[outPos++] = (byte) (bits >> 10);
+                out[outPos++] = (byte) (bits >> 2);
+                break;
+        }
+        return outPos;
+    }
+
+    /**
+     * The 6-bit value of a Base64 character, -1 for any other character.
+     */
+    private static int decodeChar(char c) {
+        return c > 0xFF ? -1 : DECODE_LOOKUP[c];
     }
 
     /**
@@ -830,6 +1280,17 @@ public class Base64 implements BinaryEncoder, BinaryDecoder {
         return new Base64().decode(base64String);
     }
 
+    /**
+     * Decodes a sequence of Base64 characters into octets without converting it to bytes first.
+     * 
+     * @param base64Chars
+     *            characters containing Base64 data
+     * @return Array containing decoded data.
+     */
+    public static byte[] decodeBase64(CharSequence base64Chars) {
+        return new Base64().decode(base64Chars);
+    }
+
     /**
      * Decodes Base64 data into octets
      * 
@@ -930,23 +1391,259 @@ public class Base64 implements BinaryEncoder, BinaryDecoder {
         if (pArray == null || pArray.length == 0) {
             return pArray;
         }
-        long len = getEncodeLength(pArray, lineLength, lineSeparator);
+        long len = getEncodedLength(pArray.length);
+        if (len > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Input array too big, the output array would be bigger (" + len
+                + ") than the maximum array size");
+        }
         byte[] buf = new byte[(int) len];
-        setInitialBuffer(buf, 0, buf.length);
-        encode(pArray, 0, pArray.length);
-        encode(pArray, 0, -1); // Notify encoder of EOF.
-        // Encoder might have resized, even though it was unnecessary.
-        if (buffer != buf) {
-            readResults(buf, 0, buf.length);
+        encodeFully(pArray, 0, pArray.length, buf, 0);
+        return buf;
+    }
+
+    /**
+     * Encodes the bytes remaining in <code>src</code> into Base64 characters in <code>dst</code>, with the line length,
+     * line separator and padding of this instance. Only whole 3-byte groups are consumed until <code>endOfInput</code>
+     * is set, and a line is only completed when its separator fits as well, so the output of a sequence of calls is the
+     * same as {@link #encode(byte[])} of all the input. A sequence of calls ending with <code>endOfInput</code> set must
+     * not be interleaved with other encode or decode calls on this instance.
+     * 
+     * @param src
+     *            the bytes to encode
+     * @param dst
+     *            the buffer receiving the Base64 characters
+     * @param endOfInput
+     *            <code>true</code> if no more bytes follow those remaining in <code>src</code>
+     * @return {@link CoderResult#UNDERFLOW} if all of <code>src</code> that can be encoded so far has been consumed,
+     *         {@link CoderResult#OVERFLOW} if <code>dst</code> is full
+     */
+    public CoderResult encode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) {
+        byte[] table = encodeTable;
+        while (src.remaining() >= 3) {
+            // groups left in the current line, all of them if the output is not chunked
+            int lineGroups = lineLength > 0 ? (lineLength - currentLinePos) >> 2 : Integer.MAX_VALUE;
+            int groups = Math.min(Math.min(src.remaining() / 3, lineGroups), dst.remaining() >> 2);
+            if (groups == lineGroups && dst.remaining() < (groups << 2) + lineSeparator.length) {
+                groups--;
+            }
+            if (groups <= 0) {
+                return CoderResult.OVERFLOW;
+            }
+            if (src.hasArray() && dst.hasArray()) {
+                int inPos = src.arrayOffset() + src.position();
+                int outPos = dst.arrayOffset() + dst.position();
+                encodeGroups(src.array(), inPos, inPos + groups * 3, dst.array(), outPos, table);
+                ((Buffer) src).position(src.position() + groups * 3);
+                ((Buffer) dst).position(dst.position() + (groups << 2));
+            } else {
+                for (int i = 0; i < groups; i++) {
+                    int bits = (src.get() & MASK_8BITS) << 16 | (src.get() & MASK_8BITS) << 8 | (src.get() & MASK_8BITS);
+                    dst.put(table[(bits >>> 18) & MASK_6BITS]);
+                    dst.put(table[(bits >>> 12) & MASK_6BITS]);
+                    dst.put(table[(bits >>> 6) & MASK_6BITS]);
+                    dst.put(table[bits & MASK_6BITS]);
+                }
+            }
+            currentLinePos += groups << 2;
+            if (groups == lineGroups) {
+                dst.put(lineSeparator);
+                currentLinePos = 0;
+            }
         }
-        // In URL-SAFE mode we skip the padding characters, so sometimes our
-        // final length is a bit smaller.
-        if (isUrlSafe() && pos < buf.length) {
-            byte[] smallerBuf = new byte[pos];
-            System.arraycopy(buf, 0, smallerBuf, 0, pos);
-            buf = smallerBuf;
+        if (endOfInput) {
+            int rem = src.remaining();
+            // URL-SAFE skips the padding
+            int tail = rem == 0 ? 0 : table == STANDARD_ENCODE_TABLE ? 4 : rem + 1;
+            boolean openLine = lineLength > 0 && (currentLinePos > 0 || rem > 0);
+            if (dst.remaining() < tail + (openLine ? lineSeparator.length : 0)) {
+                return CoderResult.OVERFLOW;
+            }
+            switch (rem) {
+                case 1 :
+                    int b1 = src.get() & MASK_8BITS;
+                    dst.put(table[b1 >>> 2]);
+                    dst.put(table[(b1 << 4) & MASK_6BITS]);
+                    break;
+
+                case 2 :
+                    int b2 = (src.get() & MASK_8BITS) << 8 | (src.get() & MASK_8BITS);
+                    dst.put(table[b2 >>> 10]);
+                    dst.put(table[(b2 >>> 4) & MASK_6BITS]);
+                    dst.put(table[(b2 << 2) & MASK_6BITS]);
+                    break;
+            }
+            for (int i = rem + 1; i < tail; i++) {
+                dst.put(PAD);
+            }
+            if (openLine) {
+                dst.put(lineSeparator);
+            }
+            currentLinePos = 0;
+        }
+        return CoderResult.UNDERFLOW;
+    }
+
+    /**
+     * Calculates the exact number of bytes {@link #encode(byte[])} produces for the given number of input bytes,
+     * taking this instance's padding, line length and line separator into account.
+     * 
+     * @param length
+     *            the number of bytes to encode
+     * @return the length of the encoded data
+     */
+    long getEncodedLength(long length) {
+        long chars = (length / 3) * 4;
+        int rem = (int) (length % 3);
+        if (rem != 0) {
+            // URL-SAFE skips the padding
+            chars += encodeTable == STANDARD_ENCODE_TABLE ? 4 : rem + 1;
+        }
+        if (lineLength > 0 && chars > 0) {
+            chars += ((chars + lineLength - 1) / lineLength) * lineSeparator.length;
+        }
+        return chars;
+    }
+
+    /**
+     * Encodes <code>inAvail</code> bytes from <code>in</code> in one go, writing exactly
+     * {@link #getEncodedLength(long)} bytes to <code>out</code>. Whole lines of 3-byte groups are encoded without any
+     * of the per-byte bookkeeping of the streaming {@link #encode(byte[], int, int)}.
+     * 
+     * @return the position in <code>out</code> following the last byte written
+     */
+    int encodeFully(byte[] in, int inPos, int inAvail, byte[] out, int outPos) {
+        byte[] table = encodeTable;
+        int groupsEnd = inPos + inAvail - inAvail % 3;
+        // bytes per full line, all groups at once if the output is not chunked
+        int lineBytes = lineLength > 0 ? lineLength / 4 * 3 : Integer.MAX_VALUE;
+        boolean openLine = false;
+        while (inPos < groupsEnd) {
+            int lineEnd = groupsEnd - inPos > lineBytes ? inPos + lineBytes : groupsEnd;
+            openLine = lineEnd - inPos < lineBytes;
+            outPos = encodeGroups(in, inPos, lineEnd, out, outPos, table);
+            inPos = lineEnd;
+            if (!openLine) {
+                System.arraycopy(lineSeparator, 0, out, outPos, lineSeparator.length);
+                outPos += lineSeparator.length;
+            }
+        }
+        switch (inAvail % 3) {
+            case 1 :
+                int b1 = in[inPos] & MASK_8BITS;
+                out[outPos++] = table[b1 >>> 2];
+                out[outPos++] = table[(b1 << 4) & MASK_6BITS];
+                // URL-SAFE skips the padding to further reduce size.
+                if (table == STANDARD_ENCODE_TABLE) {
+                    out[outPos++] = PAD;
+                    out[outPos++] = PAD;
+                }
+                openLine = true;
+                break;
+
+            case 2 :
+                int b2 = (in[inPos] & MASK_8BITS) << 8 | (in[inPos + 1] & MASK_8BITS);
+                out[outPos++] = table[b2 >>> 10];
+                out[outPos++] = table[(b2 >>> 4) & MASK_6BITS];
+                out[outPos++] = table[(b2 << 2) & MASK_6BITS];
+                if (table == STANDARD_ENCODE_TABLE) {
+                    out[outPos++] = PAD;
+                }
+                openLine = true;
+                break;
+        }
+        if (lineLength > 0 && openLine) {
+            System.arraycopy(lineSeparator, 0, out, outPos, lineSeparator.length);
+            outPos += lineSeparator.length;
+        }
+        return outPos;
+    }
+
+    /**
+     * Same as {@link #encodeFully(byte[], int, int, byte[], int)}, writing characters.
+     * 
+     * @return the position in <code>out</code> following the last character written
+     */
+    int encodeFully(byte[] in, int inPos, int inAvail, char[] out, int outPos) {
+        byte[] table = encodeTable;
+        int groupsEnd = inPos + inAvail - inAvail % 3;
+        // bytes per full line, all groups at once if the output is not chunked
+        int lineBytes = lineLength > 0 ? lineLength / 4 * 3 : Integer.MAX_VALUE;
+        boolean openLine = false;
+        while (inPos < groupsEnd) {
+            int lineEnd = groupsEnd - inPos > lineBytes ? inPos + lineBytes : groupsEnd;
+            openLine = lineEnd - inPos < lineBytes;
+            outPos = encodeGroups(in, inPos, lineEnd, out, outPos, table);
+            inPos = lineEnd;
+            if (!openLine) {
+                outPos = separator(out, outPos);
+            }
+        }
+        switch (inAvail % 3) {
+            case 1 :
+                int b1 = in[inPos] & MASK_8BITS;
+                out[outPos++] = (char) table[b1 >>> 2];
+                out[outPos++] = (char) table[(b1 << 4) & MASK_6BITS];
+                // URL-SAFE skips the padding to further reduce size.
+                if (table == STANDARD_ENCODE_TABLE) {
+                    out[outPos++] = (char) PAD;
+                    out[outPos++] = (char) PAD;
+                }
+                openLine = true;
+                break;
+
+            case 2 :
+                int b2 = (in[inPos] & MASK_8BITS) << 8 | (in[inPos + 1] & MASK_8BITS);
+                out[outPos++] = (char) table[b2 >>> 10];
+                out[outPos++] = (char) table[(b2 >>> 4) & MASK_6BITS];
+                out[outPos++] = (char) table[(b2 << 2) & MASK_6BITS];
+                if (table == STANDARD_ENCODE_TABLE) {
+                    out[outPos++] = (char) PAD;
+                }
+                openLine = true;
+                break;
+        }
+        if (lineLength > 0 && openLine) {
+            outPos = separator(out, outPos);
+        }
+        return outPos;
+    }
+
+    /**
+     * Encodes the 3-byte groups of <code>in[inPos..inEnd)</code>, returns the position following the last byte written.
+     */
+    private static int encodeGroups(byte[] in, int inPos, int inEnd, byte[] out, int outPos, byte[] table) {
+        while (inPos < inEnd) {
+            int bits = (in[inPos++] & MASK_8BITS) << 16 | (in[inPos++] & MASK_8BITS) << 8 | (in[inPos++] & MASK_8BITS);
+            out[outPos++] = table[(bits >>> 18) & MASK_6BITS];
+            out[outPos++] = table[(bits >>> 12) & MASK_6BITS];
+            out[outPos++] = table[(bits >>> 6) & MASK_6BITS];
+            out[outPos++] = table[bits & MASK_6BITS];
+        }
+        return outPos;
+    }
+
+    /**
+     * Same as {@link #encodeGroups(byte[], int, int, byte[], int, byte[])}, writing characters.
+     */
+    private static int encodeGroups(byte[] in, int inPos, int inEnd, char[] out, int outPos, byte[] table) {
+        while (inPos < inEnd) {
+            int bits = (in[inPos++] & MASK_8BITS) << 16 | (in[inPos++] & MASK_8BITS) << 8 | (in[inPos++] & MASK_8BITS);
+            out[outPos++] = (char) table[(bits >>> 18) & MASK_6BITS];
+            out[outPos++] = (char) table[(bits >>> 12) & MASK_6BITS];
+            out[outPos++] = (char) table[(bits >>> 6) & MASK_6BITS];
+            out[outPos++] = (char) table[bits & MASK_6BITS];
+        }
+        return outPos;
+    }
+
+    /**
+     * Writes the line separator as characters, returns the position following it.
+     */
+    private int separator(char[] out, int outPos) {
+        for (int i = 0; i < lineSeparator.length; i++) {
+            out[outPos++] = (char) (lineSeparator[i] & MASK_8BITS);
         }
-        return buf;        
+        return outPos;
     }
 
     /**
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.codec.binary;
+
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Adapts {@link Base64InputStream} and {@link Base64OutputStream} to NIO channels, so data can be Base64-encoded or
+ * decoded on its way between channels with constant memory.
+ * <p>
+ * The returned channels are blocking and follow the contracts of {@link Channels#newChannel(java.io.InputStream)} and
+ * {@link Channels#newChannel(java.io.OutputStream)}. The wrapped channel must be in blocking mode. Closing the returned
+ * channel closes the wrapped one; for a writable channel this is also what writes the final block and padding.
+ * </p>
+ * 
+ * @author Apache Software Foundation
+ * @see Base64InputStream
+ * @see Base64OutputStream
+ */
+public final class Base64Channels {
+
+    private Base64Channels() {
+    }
+
+    /**
+     * Creates a channel that reads the Base64-decoded contents of the given channel.
+     * 
+     * @param in
+     *            the channel of Base64 data
+     * @return a channel of the decoded bytes
+     */
+    public static ReadableByteChannel newReadableChannel(ReadableByteChannel in) {
+        return newReadableChannel(in, false);
+    }
+
+    /**
+     * Creates a channel that reads the Base64-encoded or Base64-decoded contents of the given channel. Encoded data is
+     * divided into lines of 76 characters separated by CRLF.
+     * 
+     * @param in
+     *            the channel to wrap
+     * @param doEncode
+     *            true if the data read from the returned channel should be encoded, false if it should be decoded.
+     * @return a channel of the encoded or decoded bytes
+     */
+    public static ReadableByteChannel newReadableChannel(ReadableByteChannel in, boolean doEncode) {
+        return Channels.newChannel(new Base64InputStream(Channels.newInputStream(in), doEncode));
+    }
+
+    /**
+     * Creates a channel that reads the Base64-encoded or Base64-decoded contents of the given channel.
+     * 
+     * @param in
+     *            the channel to wrap
+     * @param doEncode
+     *            true if the data read from the returned channel should be encoded, false if it should be decoded.
+     * @param lineLength
+     *            If doEncode is true, each line of encoded data will contain lineLength characters (rounded down to
+     *            nearest multiple of 4). If lineLength <= 0, the encoded data is not divided into lines.
+     * @param lineSeparator
+     *            If doEncode is true, each line of encoded data will be terminated with this byte sequence.
+     * @return a channel of the encoded or decoded bytes
+     */
+    public static ReadableByteChannel newReadableChannel(ReadableByteChannel in, boolean doEncode, int lineLength, byte[] lineSeparator) {
+        return Channels.newChannel(new Base64InputStream(Channels.newInputStream(in), doEncode, lineLength, lineSeparator));
+    }
+
+    /**
+     * Creates a channel that Base64-encodes everything written to it into the given channel.
+     * 
+     * @param out
+     *            the channel receiving Base64 data
+     * @return a channel accepting the bytes to encode
+     */
+    public static WritableByteChannel newWritableChannel(WritableByteChannel out) {
+        return newWritableChannel(out, true);
+    }
+
+    /**
+     * Creates a channel that Base64-encodes or Base64-decodes everything written to it into the given channel. Encoded
+     * data is divided into lines of 76 characters separated by CRLF.
+     * 
+     * @param out
+     *            the channel to wrap
+     * @param doEncode
+     *            true if the data written to the returned channel should be encoded, false if it should be decoded.
+     * @return a channel accepting the bytes to encode or decode
+     */
+    public static WritableByteChannel newWritableChannel(WritableByteChannel out, boolean doEncode) {
+        return Channels.newChannel(new Base64OutputStream(Channels.newOutputStream(out), doEncode));
+    }
+
+    /**
+     * Creates a channel that Base64-encodes or Base64-decodes everything written to it into the given channel.
+     * 
+     * @param out
+     *            the channel to wrap
+     * @param doEncode
+     *            true if the data written to the returned channel should be encoded, false if it should be decoded.
+     * @param lineLength
+     *            If doEncode is true, each line of encoded data will contain lineLength characters (rounded down to
+     *            nearest multiple of 4). If lineLength <= 0, the encoded data is not divided into lines.
+     * @param lineSeparator
+     *            If doEncode is true, each line of encoded data will be terminated with this byte sequence.
+     * @return a channel accepting the bytes to encode or decode
+     */
+    public static WritableByteChannel newWritableChannel(WritableByteChannel out, boolean doEncode, int lineLength, byte[] lineSeparator) {
+        return Channels.newChannel(new Base64OutputStream(Channels.newOutputStream(out), doEncode, lineLength, lineSeparator));
+    }
+}
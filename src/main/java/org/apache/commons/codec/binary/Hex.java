@@ -17,11 +17,18 @@
 
 package org.apache.commons.codec.binary;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
+import java.util.Arrays;
 
-import org.apache.commons.codec.BinaryDecoder;
-import org.apache.commons.codec.BinaryEncoder;
+import org.apache.commons.codec.ByteBufferDecoder;
+import org.apache.commons.codec.ByteBufferEncoder;
 import org.apache.commons.codec.CharEncoding;
+import org.apache.commons.codec.Charsets;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.EncoderException;
 
@@ -33,7 +40,7 @@ import org.apache.commons.codec.EncoderException;
  * @author Apache Software Foundation
  * @version $Id: Hex.java 801639 2009-08-06 13:15:10Z niallp $
  */
-public class Hex implements BinaryEncoder, BinaryDecoder {
+public class Hex implements ByteBufferEncoder, ByteBufferDecoder {
 
     /**
      * Default charset name is {@link CharEncoding#UTF_8}
@@ -50,6 +57,22 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
      */
     private static final char[] DIGITS_UPPER = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
 
+    /**
+     * The two lowercase hex characters of every byte value, the byte <code>b</code> maps to the entries
+     * <code>2 * (b &amp; 0xFF)</code> and <code>2 * (b &amp; 0xFF) + 1</code>
+     */
+    private static final char[] PAIRS_LOWER = pairs(DIGITS_LOWER);
+
+    /**
+     * The two uppercase hex characters of every byte value
+     */
+    private static final char[] PAIRS_UPPER = pairs(DIGITS_UPPER);
+
+    /**
+     * The value of every ASCII hex digit indexed by its character, -1 for all other characters below 256
+     */
+    private static final int[] NIBBLES = nibbles();
+
     /**
      * Converts an array of characters representing hexadecimal values into an array of bytes of those same values. The
      * returned array will be half the length of the passed array, as it takes two characters to represent any given
@@ -62,25 +85,187 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
      *             Thrown if an odd number or illegal of characters is supplied
      */
     public static byte[] decodeHex(char[] data) throws DecoderException {
+        byte[] out = new byte[checkEven(data.length) >> 1];
+        decodeHex(data, 0, data.length, out, 0);
+        return out;
+    }
 
-        int len = data.length;
+    /**
+     * Converts a sequence of characters representing hexadecimal values into an array of bytes of those same values.
+     * 
+     * @param data
+     *            A sequence of characters containing hexadecimal digits
+     * @return A byte array containing binary data decoded from the supplied characters.
+     * @throws DecoderException
+     *             Thrown if an odd number or illegal of characters is supplied
+     * @see #decodeHex(char[])
+     */
+    public static byte[] decodeHex(CharSequence data) throws DecoderException {
+        byte[] out = new byte[checkEven(data.length()) >> 1];
+        decodeHex(data, 0, data.length(), out, 0);
+        return out;
+    }
 
-        if ((len & 0x01) != 0) {
-            throw new DecoderException("Odd number of characters.");
+    /**
+     * Converts a range of an array of characters representing hexadecimal values into bytes, writing them into the
+     * given array. Exactly <code>len / 2</code> bytes are written, no new array is allocated.
+     * 
+     * @param src
+     *            An array of characters containing hexadecimal digits
+     * @param off
+     *            the index of the first character to decode
+     * @param len
+     *            the number of characters to decode
+     * @param dst
+     *            the array receiving the decoded bytes
+     * @param dstOff
+     *            the index in <code>dst</code> of the first byte written
+     * @return the index in <code>dst</code> following the last byte written
+     * @throws DecoderException
+     *             Thrown if an odd number or illegal of characters is supplied
+     * @throws IndexOutOfBoundsException
+     *             if either range lies outside its array
+     */
+    public static int decodeHex(char[] src, int off, int len, byte[] dst, int dstOff) throws DecoderException {
+        checkRange(src.length, off, len);
+        checkRange(dst.length, dstOff, checkEven(len) >> 1);
+        int invalid = 0;
+        int j = dstOff;
+        for (int i = off, end = off + len; i < end; i += 2) {
+            int f = nibble(src[i]) << 4 | nibble(src[i + 1]);
+            invalid |= f;
+            dst[j++] = (byte) f;
+        }
+        if (invalid < 0) {
+            return decodeDigits(CharBuffer.wrap(src), off, len, dst, dstOff);
         }
+        return j;
+    }
 
-        byte[] out = new byte[len >> 1];
+    /**
+     * Converts a range of a sequence of characters representing hexadecimal values into bytes, writing them into the
+     * given array.
+     * 
+     * @param src
+     *            A sequence of characters containing hexadecimal digits
+     * @param off
+     *            the index of the first character to decode
+     * @param len
+     *            the number of characters to decode
+     * @param dst
+     *            the array receiving the decoded bytes
+     * @param dstOff
+     *            the index in <code>dst</code> of the first byte written
+     * @return the index in <code>dst</code> following the last byte written
+     * @throws DecoderException
+     *             Thrown if an odd number or illegal of characters is supplied
+     * @throws IndexOutOfBoundsException
+     *             if either range lies outside its sequence or array
+     */
+    public static int decodeHex(CharSequence src, int off, int len, byte[] dst, int dstOff) throws DecoderException {
+        checkRange(src.length(), off, len);
+        checkRange(dst.length, dstOff, checkEven(len) >> 1);
+        int invalid = 0;
+        int j = dstOff;
+        for (int i = off, end = off + len; i < end; i += 2) {
+            int f = nibble(src.charAt(i)) << 4 | nibble(src.charAt(i + 1));
+            invalid |= f;
+            dst[j++] = (byte) f;
+        }
+        if (invalid < 0) {
+            return decodeDigits(src, off, len, dst, dstOff);
+        }
+        return j;
+    }
 
-        // two characters form the hex value.
-        for (int i = 0, j = 0; j < len; i++) {
-            int f = toDigit(data[j], j) << 4;
-            j++;
-            f = f | toDigit(data[j], j);
-            j++;
-            out[i] = (byte) (f & 0xFF);
+    /**
+     * Converts a range of an array of ASCII bytes representing hexadecimal values into bytes, writing them into the
+     * given array.
+     * 
+     * @param src
+     *            An array of ASCII bytes containing hexadecimal digits
+     * @param off
+     *            the index of the first byte to decode
+     * @param len
+     *            the number of bytes to decode
+     * @param dst
+     *            the array receiving the decoded bytes
+     * @param dstOff
+     *            the index in <code>dst</code> of the first byte written
+     * @return the index in <code>dst</code> following the last byte written
+     * @throws DecoderException
+     *             Thrown if an odd number or illegal of characters is supplied
+     * @throws IndexOutOfBoundsException
+     *             if either range lies outside its array
+     */
+    public static int decodeHex(byte[] src, int off, int len, byte[] dst, int dstOff) throws DecoderException {
+        checkRange(src.length, off, len);
+        checkRange(dst.length, dstOff, checkEven(len) >> 1);
+        int invalid = 0;
+        int j = dstOff;
+        for (int i = off, end = off + len; i < end; i += 2) {
+            int f = NIBBLES[src[i] & 0xFF] << 4 | NIBBLES[src[i + 1] & 0xFF];
+            invalid |= f;
+            dst[j++] = (byte) f;
+        }
+        if (invalid < 0) {
+            for (int i = off; ; i++) {
+                if (NIBBLES[src[i] & 0xFF] < 0) {
+                    throw illegalCharacter((char) (src[i] & 0xFF), i);
+                }
+            }
         }
+        return j;
+    }
 
-        return out;
+    /**
+     * Converts the remaining ASCII bytes of a buffer representing hexadecimal values into bytes, writing them into the
+     * given buffer. As many whole pairs of characters are decoded as there is remaining space in <code>dst</code>; a
+     * trailing unpaired character is left in <code>src</code>. The positions of both buffers are advanced past the bytes
+     * read and written.
+     * 
+     * @param src
+     *            the ASCII bytes of hexadecimal digits
+     * @param dst
+     *            the buffer receiving the decoded bytes
+     * @return the number of bytes written to <code>dst</code>
+     * @throws DecoderException
+     *             Thrown if an illegal character is supplied, the positions of both buffers are left unchanged
+     */
+    public static int decodeHex(ByteBuffer src, ByteBuffer dst) throws DecoderException {
+        int len = Math.min(src.remaining() >> 1, dst.remaining());
+        int from = src.position();
+        int invalid = 0;
+        if (src.hasArray() && dst.hasArray()) {
+            byte[] in = src.array();
+            byte[] out = dst.array();
+            int i = src.arrayOffset() + from;
+            int j = dst.arrayOffset() + dst.position();
+            for (int end = j + len; j < end; i += 2) {
+                int f = NIBBLES[in[i] & 0xFF] << 4 | NIBBLES[in[i + 1] & 0xFF];
+                invalid |= f;
+                out[j++] = (byte) f;
+            }
+        } else {
+            for (int i = from, end = from + (len << 1); i < end; i++) {
+                invalid |= NIBBLES[src.get(i) & 0xFF];
+            }
+            if (invalid >= 0) {
+                for (int i = from, j = dst.position(), end = j + len; j < end; i += 2) {
+                    dst.put(j++, (byte) (NIBBLES[src.get(i) & 0xFF] << 4 | NIBBLES[src.get(i + 1) & 0xFF]));
+                }
+            }
+        }
+        if (invalid < 0) {
+            for (int i = from; ; i++) {
+                if (NIBBLES[src.get(i) & 0xFF] < 0) {
+                    throw illegalCharacter((char) (src.get(i) & 0xFF), i);
+                }
+            }
+        }
+        ((Buffer) src).position(from + (len << 1));
+        ((Buffer) dst).position(dst.position() + len);
+        return len;
     }
 
     /**
@@ -127,6 +312,10 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
     protected static char[] encodeHex(byte[] data, char[] toDigits) {
         int l = data.length;
         char[] out = new char[l << 1];
+        if (toDigits == DIGITS_LOWER || toDigits == DIGITS_UPPER) {
+            encodeHex(data, 0, l, out, 0, toDigits == DIGITS_LOWER);
+            return out;
+        }
         // two characters form the hex value.
         for (int i = 0, j = 0; i < l; i++) {
             out[j++] = toDigits[(0xF0 & data[i]) >>> 4];
@@ -135,6 +324,158 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
         return out;
     }
 
+    /**
+     * Converts a range of an array of bytes into characters representing the hexadecimal values of each byte in order,
+     * writing them into the given array. Exactly <code>len * 2</code> characters are written, no new array is allocated.
+     * 
+     * @param src
+     *            a byte[] to convert to Hex characters
+     * @param off
+     *            the index of the first byte to convert
+     * @param len
+     *            the number of bytes to convert
+     * @param dst
+     *            the array receiving the hexadecimal characters
+     * @param dstOff
+     *            the index in <code>dst</code> of the first character written
+     * @return the index in <code>dst</code> following the last character written
+     * @throws IndexOutOfBoundsException
+     *             if either range lies outside its array
+     */
+    public static int encodeHex(byte[] src, int off, int len, char[] dst, int dstOff) {
+        return encodeHex(src, off, len, dst, dstOff, true);
+    }
+
+    /**
+     * Converts a range of an array of bytes into characters representing the hexadecimal values of each byte in order,
+     * writing them into the given array.
+     * 
+     * @param src
+     *            a byte[] to convert to Hex characters
+     * @param off
+     *            the index of the first byte to convert
+     * @param len
+     *            the number of bytes to convert
+     * @param dst
+     *            the array receiving the hexadecimal characters
+     * @param dstOff
+     *            the index in <code>dst</code> of the first character written
+     * @param toLowerCase
+     *            <code>true</code> converts to lowercase, <code>false</code> to uppercase
+     * @return the index in <code>dst</code> following the last character written
+     * @throws IndexOutOfBoundsException
+     *             if either range lies outside its array
+     */
+    public static int encodeHex(byte[] src, int off, int len, char[] dst, int dstOff, boolean toLowerCase) {
+        checkRange(src.length, off, len);
+        checkRange(dst.length, dstOff, len << 1);
+        char[] pairs = toLowerCase ? PAIRS_LOWER : PAIRS_UPPER;
+        int j = dstOff;
+        for (int i = off, end = off + len; i < end; i++) {
+            int k = (src[i] & 0xFF) << 1;
+            dst[j++] = pairs[k];
+            dst[j++] = pairs[k + 1];
+        }
+        return j;
+    }
+
+    /**
+     * Converts a range of an array of bytes into the ISO-8859-1 (and so also US-ASCII and UTF-8) bytes of the
+     * characters representing the hexadecimal values of each byte in order, writing them into the given array.
+     * 
+     * @param src
+     *            a byte[] to convert to Hex characters
+     * @param off
+     *            the index of the first byte to convert
+     * @param len
+     *            the number of bytes to convert
+     * @param dst
+     *            the array receiving the bytes of the hexadecimal characters
+     * @param dstOff
+     *            the index in <code>dst</code> of the first byte written
+     * @param toLowerCase
+     *            <code>true</code> converts to lowercase, <code>false</code> to uppercase
+     * @return the index in <code>dst</code> following the last byte written
+     * @throws IndexOutOfBoundsException
+     *             if either range lies outside its array
+     */
+    public static int encodeHex(byte[] src, int off, int len, byte[] dst, int dstOff, boolean toLowerCase) {
+        checkRange(src.length, off, len);
+        checkRange(dst.length, dstOff, len << 1);
+        char[] pairs = toLowerCase ? PAIRS_LOWER : PAIRS_UPPER;
+        int j = dstOff;
+        for (int i = off, end = off + len; i < end; i++) {
+            int k = (src[i] & 0xFF) << 1;
+            dst[j++] = (byte) pairs[k];
+            dst[j++] = (byte) pairs[k + 1];
+        }
+        return j;
+    }
+
+    /**
+     * Converts the remaining bytes of a buffer into characters representing the hexadecimal values of each byte in
+     * order, writing them into the given character buffer. As many whole bytes are converted as fit into the remaining
+     * space of <code>dst</code>; the positions of both buffers are advanced past the bytes read and characters written.
+     * 
+     * @param src
+     *            the bytes to convert to Hex characters
+     * @param dst
+     *            the buffer receiving the hexadecimal characters
+     * @param toLowerCase
+     *            <code>true</code> converts to lowercase, <code>false</code> to uppercase
+     * @return the number of bytes converted
+     */
+    public static int encodeHex(ByteBuffer src, CharBuffer dst, boolean toLowerCase) {
+        int len = Math.min(src.remaining(), dst.remaining() >> 1);
+        if (src.hasArray() && dst.hasArray()) {
+            encodeHex(src.array(), src.arrayOffset() + src.position(), len, dst.array(), dst.arrayOffset() + dst.position(), toLowerCase);
+            // Buffer.position(int) rather than the covariant JDK 9+ override, so this links on Java 7 and 8
+            ((Buffer) src).position(src.position() + len);
+            ((Buffer) dst).position(dst.position() + (len << 1));
+            return len;
+        }
+        char[] pairs = toLowerCase ? PAIRS_LOWER : PAIRS_UPPER;
+        for (int i = 0; i < len; i++) {
+            int k = (src.get() & 0xFF) << 1;
+            dst.put(pairs[k]);
+            dst.put(pairs[k + 1]);
+        }
+        return len;
+    }
+
+    /**
+     * Appends the characters representing the hexadecimal values of a range of an array of bytes to the given
+     * {@link Appendable}, without building an intermediate array or String.
+     * 
+     * @param src
+     *            a byte[] to convert to Hex characters
+     * @param off
+     *            the index of the first byte to convert
+     * @param len
+     *            the number of bytes to convert
+     * @param out
+     *            the destination of the hexadecimal characters
+     * @param toLowerCase
+     *            <code>true</code> converts to lowercase, <code>false</code> to uppercase
+     * @return <code>out</code>
+     * @throws IOException
+     *             if <code>out</code> throws it
+     * @throws IndexOutOfBoundsException
+     *             if the range lies outside <code>src</code>
+     */
+    public static Appendable encodeHex(byte[] src, int off, int len, Appendable out, boolean toLowerCase) throws IOException {
+        checkRange(src.length, off, len);
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).ensureCapacity(((StringBuilder) out).length() + (len << 1));
+        }
+        char[] pairs = toLowerCase ? PAIRS_LOWER : PAIRS_UPPER;
+        for (int i = off, end = off + len; i < end; i++) {
+            int k = (src[i] & 0xFF) << 1;
+            out.append(pairs[k]).append(pairs[k + 1]);
+        }
+        return out;
+    }
+
     /**
      * Converts an array of bytes into a String representing the hexadecimal values of each byte in order. The returned
      * String will be double the length of the passed array, as it takes two characters to represent any given byte.
@@ -145,7 +486,94 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
      * @since 1.4
      */
     public static String encodeHexString(byte[] data) {
-        return new String(encodeHex(data));
+        return encodeHexString(data, true);
+    }
+
+    /**
+     * Converts an array of bytes into a String representing the hexadecimal values of each byte in order. The
+     * characters are produced as ISO-8859-1 bytes, so no char[] is created on the way to the String.
+     * 
+     * @param data
+     *            a byte[] to convert to Hex characters
+     * @param toLowerCase
+     *            <code>true</code> converts to lowercase, <code>false</code> to uppercase
+     * @return A String containing hexadecimal characters
+     */
+    public static String encodeHexString(byte[] data, boolean toLowerCase) {
+        return new String(encodeHexBytes(data, toLowerCase), Charsets.ISO_8859_1);
+    }
+
+    /**
+     * Converts an array of bytes into the ISO-8859-1 bytes of the hexadecimal characters of each byte in order.
+     */
+    private static byte[] encodeHexBytes(byte[] data, boolean toLowerCase) {
+        byte[] out = new byte[data.length << 1];
+        encodeHex(data, 0, data.length, out, 0, toLowerCase);
+        return out;
+    }
+
+    /**
+     * The value of a hex digit, a negative number if <code>c</code> is not an ASCII hex digit.
+     */
+    private static int nibble(char c) {
+        // characters above 0xFF map to -1 through the sign of (0xFF - c)
+        return NIBBLES[c & 0xFF] | ((0xFF - c) >> 31);
+    }
+
+    /**
+     * Decodes with {@link #toDigit(char, int)}, which accepts every digit known to {@link Character#digit(char, int)}
+     * and reports the first illegal character. Only used once the table lookup found a character it does not know.
+     */
+    private static int decodeDigits(CharSequence data, int off, int len, byte[] dst, int dstOff) throws DecoderException {
+        int j = dstOff;
+        for (int i = off, end = off + len; i < end; i += 2) {
+            dst[j++] = (byte) (toDigit(data.charAt(i), i) << 4 | toDigit(data.charAt(i + 1), i + 1));
+        }
+        return j;
+    }
+
+    /**
+     * Returns <code>len</code>, throws {@link DecoderException} if it is odd.
+     */
+    private static int checkEven(int len) throws DecoderException {
+        if ((len & 0x01) != 0) {
+            throw new DecoderException("Odd number of characters.");
+        }
+        return len;
+    }
+
+    /**
+     * Builds the table of the values of the ASCII hex digits.
+     */
+    private static int[] nibbles() {
+        int[] nibbles = new int[256];
+        Arrays.fill(nibbles, -1);
+        for (int i = 0; i < 16; i++) {
+            nibbles[DIGITS_LOWER[i]] = i;
+            nibbles[DIGITS_UPPER[i]] = i;
+        }
+        return nibbles;
+    }
+
+    /**
+     * Builds the table of the two hex characters of every byte value.
+     */
+    private static char[] pairs(char[] digits) {
+        char[] pairs = new char[512];
+        for (int b = 0; b < 256; b++) {
+            pairs[b << 1] = digits[b >>> 4];
+            pairs[(b << 1) + 1] = digits[b & 0x0F];
+        }
+        return pairs;
+    }
+
+    /**
+     * Throws {@link IndexOutOfBoundsException} unless <code>[off, off + len)</code> lies within <code>[0, length)</code>.
+     */
+    private static void checkRange(int length, int off, int len) {
+        if (off < 0 || len < 0 || off > length - len) {
+            throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + length);
+        }
     }
 
     /**
@@ -162,11 +590,15 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
     protected static int toDigit(char ch, int index) throws DecoderException {
         int digit = Character.digit(ch, 16);
         if (digit == -1) {
-            throw new DecoderException("Illegal hexadecimal charcter " + ch + " at index " + index);
+            throw illegalCharacter(ch, index);
         }
         return digit;
     }
 
+    private static DecoderException illegalCharacter(char ch, int index) {
+        return new DecoderException("Illegal hexadecimal charcter " + ch + " at index " + index);
+    }
+
     private final String charsetName;
 
     /**
@@ -202,7 +634,7 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
      */
     public byte[] decode(byte[] array) throws DecoderException {
         try {
-            return decodeHex(new String(array, getCharsetName()).toCharArray());
+            return decodeHex(new String(array, getCharsetName()));
         } catch (UnsupportedEncodingException e) {
             throw new DecoderException(e.getMessage(), e);
         }
@@ -223,13 +655,53 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
      */
     public Object decode(Object object) throws DecoderException {
         try {
-            char[] charArray = object instanceof String ? ((String) object).toCharArray() : (char[]) object;
-            return decodeHex(charArray);
+            if (object instanceof String) {
+                return decodeHex((String) object);
+            }
+            return decodeHex((char[]) object);
         } catch (ClassCastException e) {
             throw new DecoderException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Converts the ASCII bytes of hexadecimal digits remaining in <code>src</code> into bytes, writing them into
+     * <code>dst</code>. The digits are read as ASCII whatever the charset of this codec. A trailing unpaired digit is
+     * left in <code>src</code> until more input arrives.
+     * 
+     * @param src
+     *            the ASCII bytes of hexadecimal digits
+     * @param dst
+     *            the buffer receiving the decoded bytes
+     * @param endOfInput
+     *            <code>true</code> if no more digits follow those remaining in <code>src</code>
+     * @return {@link CoderResult#UNDERFLOW} if all whole pairs of digits have been decoded, {@link CoderResult#OVERFLOW}
+     *         if <code>dst</code> is full, a malformed-input result of length 2 if <code>src</code> is positioned at a
+     *         pair containing an illegal character, or of length 1 if a single digit is left at the end of input
+     */
+    public CoderResult decode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) {
+        try {
+            decodeHex(src, dst);
+        } catch (DecoderException e) {
+            // the positions are unchanged, decode the pairs in front of the illegal character first
+            int from = src.position();
+            int bad = from;
+            while (NIBBLES[src.get(bad) & 0xFF] >= 0) {
+                bad++;
+            }
+            int limit = src.limit();
+            int valid = bad - ((bad - from) & 1);
+            ((Buffer) src).limit(valid);
+            decode(src, dst, false);
+            ((Buffer) src).limit(limit);
+            return src.position() < valid ? CoderResult.OVERFLOW : CoderResult.malformedForLength(2);
+        }
+        if (src.remaining() > 1) {
+            return CoderResult.OVERFLOW;
+        }
+        return src.hasRemaining() && endOfInput ? CoderResult.malformedForLength(1) : CoderResult.UNDERFLOW;
+    }
+
     /**
      * Converts an array of bytes into an array of bytes for the characters representing the hexadecimal values of each
      * byte in order. The returned array will be double the length of the passed array, as it takes two characters to
@@ -248,9 +720,50 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
      * @see #encodeHex(byte[])
      */
     public byte[] encode(byte[] array) {
+        if (isAsciiCompatible(getCharsetName())) {
+            return encodeHexBytes(array, true);
+        }
         return StringUtils.getBytesUnchecked(encodeHexString(array), getCharsetName());
     }
 
+    /**
+     * Converts the bytes remaining in <code>src</code> into the ASCII bytes of lowercase hexadecimal digits, writing
+     * them into <code>dst</code>. The digits are written as ASCII whatever the charset of this codec. As many whole bytes
+     * are converted as fit into the remaining space of <code>dst</code>.
+     * 
+     * @param src
+     *            the bytes to convert to Hex characters
+     * @param dst
+     *            the buffer receiving the ASCII bytes of the hexadecimal characters
+     * @param endOfInput
+     *            ignored, every byte is converted on its own
+     * @return {@link CoderResult#UNDERFLOW} if all of <code>src</code> has been converted, {@link CoderResult#OVERFLOW}
+     *         if <code>dst</code> is full
+     */
+    public CoderResult encode(ByteBuffer src, ByteBuffer dst, boolean endOfInput) {
+        int len = Math.min(src.remaining(), dst.remaining() >> 1);
+        if (src.hasArray() && dst.hasArray()) {
+            encodeHex(src.array(), src.arrayOffset() + src.position(), len, dst.array(), dst.arrayOffset() + dst.position(), true);
+            ((Buffer) src).position(src.position() + len);
+            ((Buffer) dst).position(dst.position() + (len << 1));
+        } else {
+            for (int i = 0; i < len; i++) {
+                int k = (src.get() & 0xFF) << 1;
+                dst.put((byte) PAIRS_LOWER[k]);
+                dst.put((byte) PAIRS_LOWER[k + 1]);
+            }
+        }
+        return src.hasRemaining() ? CoderResult.OVERFLOW : CoderResult.UNDERFLOW;
+    }
+
+    /**
+     * Whether the hex digits are encoded as single ASCII bytes in the named charset.
+     */
+    private static boolean isAsciiCompatible(String charsetName) {
+        return CharEncoding.UTF_8.equalsIgnoreCase(charsetName) || CharEncoding.US_ASCII.equalsIgnoreCase(charsetName)
+            || CharEncoding.ISO_8859_1.equalsIgnoreCase(charsetName);
+    }
+
     /**
      * Converts a String or an array of bytes into an array of characters representing the hexadecimal values of each
      * byte in order. The returned array will be double the length of the passed String or array, as it takes two
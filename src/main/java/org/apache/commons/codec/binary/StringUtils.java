@@ -17,9 +17,13 @@
 
 package org.apache.commons.codec.binary;
 
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 
 import org.apache.commons.codec.CharEncoding;
+import org.apache.commons.codec.Charsets;
 
 /**
  * Converts String to and from bytes using the encodings required by the Java specification. These encodings are specified in <a
@@ -33,6 +37,16 @@ import org.apache.commons.codec.CharEncoding;
  */
 public class StringUtils {
 
+    /**
+     * The last encoder and decoder used by each thread, see {@link #getEncoder(Charset)} and
+     * {@link #getDecoder(Charset)}.
+     */
+    private static final ThreadLocal<Coders> CODERS = new ThreadLocal<Coders>() {
+        protected Coders initialValue() {
+            return new Coders();
+        }
+    };
+
     /**
      * Encodes the given string into a sequence of bytes using the ISO-8859-1 charset, storing the result into a new
      * byte array.
@@ -40,13 +54,11 @@ public class StringUtils {
      * @param string
      *            the String to encode
      * @return encoded bytes
-     * @throws IllegalStateException
-     *             Thrown when the charset is missing, which should be never according the the Java specification.
      * @see <a href="http://java.sun.com/j2se/1.4.2/docs/api/java/nio/charset/Charset.html">Standard charsets</a>
-     * @see #getBytesUnchecked(String, String)
+     * @see #getBytes(String, Charset)
      */
     public static byte[] getBytesIso8859_1(String string) {
-        return StringUtils.getBytesUnchecked(string, CharEncoding.ISO_8859_1);
+        return StringUtils.getBytes(string, Charsets.ISO_8859_1);
     }
 
     /**
@@ -56,13 +68,11 @@ public class StringUtils {
      * @param string
      *            the String to encode
      * @return encoded bytes
-     * @throws IllegalStateException
-     *             Thrown when the charset is missing, which should be never according the the Java specification.
      * @see <a href="http://java.sun.com/j2se/1.4.2/docs/api/java/nio/charset/Charset.html">Standard charsets</a>
-     * @see #getBytesUnchecked(String, String)
+     * @see #getBytes(String, Charset)
      */
     public static byte[] getBytesUsAscii(String string) {
-        return StringUtils.getBytesUnchecked(string, CharEncoding.US_ASCII);
+        return StringUtils.getBytes(string, Charsets.US_ASCII);
     }
 
     /**
@@ -72,13 +82,11 @@ public class StringUtils {
      * @param string
      *            the String to encode
      * @return encoded bytes
-     * @throws IllegalStateException
-     *             Thrown when the charset is missing, which should be never according the the Java specification.
      * @see <a href="http://java.sun.com/j2se/1.4.2/docs/api/java/nio/charset/Charset.html">Standard charsets</a>
-     * @see #getBytesUnchecked(String, String)
+     * @see #getBytes(String, Charset)
      */
     public static byte[] getBytesUtf16(String string) {
-        return StringUtils.getBytesUnchecked(string, CharEncoding.UTF_16);
+        return StringUtils.getBytes(string, Charsets.UTF_16);
     }
 
     /**
@@ -88,13 +96,11 @@ public class StringUtils {
      * @param string
      *            the String to encode
      * @return encoded bytes
-     * @throws IllegalStateException
-     *             Thrown when the charset is missing, which should be never according the the Java specification.
      * @see <a href="http://java.sun.com/j2se/1.4.2/docs/api/java/nio/charset/Charset.html">Standard charsets</a>
-     * @see #getBytesUnchecked(String, String)
+     * @see #getBytes(String, Charset)
      */
     public static byte[] getBytesUtf16Be(String string) {
-        return StringUtils.getBytesUnchecked(string, CharEncoding.UTF_16BE);
+        return StringUtils.getBytes(string, Charsets.UTF_16BE);
     }
 
     /**
@@ -104,13 +110,11 @@ public class StringUtils {
      * @param string
      *            the String to encode
      * @return encoded bytes
-     * @throws IllegalStateException
-     *             Thrown when the charset is missing, which should be never according the the Java specification.
      * @see <a href="http://java.sun.com/j2se/1.4.2/docs/api/java/nio/charset/Charset.html">Standard charsets</a>
-     * @see #getBytesUnchecked(String, String)
+     * @see #getBytes(String, Charset)
      */
     public static byte[] getBytesUtf16Le(String string) {
-        return StringUtils.getBytesUnchecked(string, CharEncoding.UTF_16LE);
+        return StringUtils.getBytes(string, Charsets.UTF_16LE);
     }
 
     /**
@@ -120,21 +124,20 @@ public class StringUtils {
      * @param string
      *            the String to encode
      * @return encoded bytes
-     * @throws IllegalStateException
-     *             Thrown when the charset is missing, which should be never according the the Java specification.
      * @see <a href="http://java.sun.com/j2se/1.4.2/docs/api/java/nio/charset/Charset.html">Standard charsets</a>
-     * @see #getBytesUnchecked(String, String)
+     * @see #getBytes(String, Charset)
      */
     public static byte[] getBytesUtf8(String string) {
-        return StringUtils.getBytesUnchecked(string, CharEncoding.UTF_8);
+        return StringUtils.getBytes(string, Charsets.UTF_8);
     }
 
     /**
      * Encodes the given string into a sequence of bytes using the named charset, storing the result into a new byte
      * array.
      * <p>
-     * This method catches {@link UnsupportedEncodingException} and rethrows it as {@link IllegalStateException}, which
-     * should never happen for a required charset name. Use this method when the encoding is required to be in the JRE.
+     * This method throws {@link IllegalStateException} for an unsupported charset name, which should never happen for a
+     * required charset name. Use this method when the encoding is required to be in the JRE. The charsets of
+     * {@link CharEncoding} are not looked up by name but taken from {@link Charsets}.
      * </p>
      * 
      * @param string
@@ -143,8 +146,7 @@ public class StringUtils {
      *            The name of a required {@link java.nio.charset.Charset}
      * @return encoded bytes
      * @throws IllegalStateException
-     *             Thrown when a {@link UnsupportedEncodingException} is caught, which should never happen for a
-     *             required charset name.
+     *             Thrown when the charset is not supported, which should never happen for a required charset name.
      * @see CharEncoding
      * @see String#getBytes(String)
      */
@@ -152,22 +154,133 @@ public class StringUtils {
         if (string == null) {
             return null;
         }
+        return string.getBytes(toCharset(charsetName));
+    }
+
+    /**
+     * Encodes the given string into a sequence of bytes using the given charset, storing the result into a new byte
+     * array. Malformed input and unmappable characters are replaced as by {@link String#getBytes(Charset)}.
+     * 
+     * @param string
+     *            the String to encode
+     * @param charset
+     *            the charset to encode with
+     * @return encoded bytes, or <code>null</code> if <code>string</code> is <code>null</code>
+     * @see Charsets
+     */
+    public static byte[] getBytes(String string, Charset charset) {
+        if (string == null) {
+            return null;
+        }
+        return string.getBytes(charset);
+    }
+
+    /**
+     * Returns the charset of the given name, the cached instance for the names of {@link CharEncoding}.
+     * 
+     * @throws IllegalStateException
+     *             Thrown when the charset is not supported, which should never happen for a required charset name.
+     */
+    private static Charset toCharset(String charsetName) {
+        if (charsetName == null) {
+            throw new NullPointerException("charsetName");
+        }
         try {
-            return string.getBytes(charsetName);
-        } catch (UnsupportedEncodingException e) {
+            return Charsets.toCharset(charsetName);
+        } catch (IllegalArgumentException e) {
             throw StringUtils.newIllegalStateException(charsetName, e);
         }
     }
 
-    private static IllegalStateException newIllegalStateException(String charsetName, UnsupportedEncodingException e) {
+    private static IllegalStateException newIllegalStateException(String charsetName, IllegalArgumentException e) {
         return new IllegalStateException(charsetName + ": " + e);
     }
 
+    /**
+     * Returns this thread's encoder for the given charset, reset and replacing malformed input and unmappable
+     * characters as {@link String#getBytes(Charset)} does. The encoder is created on the first call for a charset and
+     * reused by later calls in the same thread, which is worth it for conversions done a buffer at a time; a whole
+     * String is best converted by {@link #getBytes(String, Charset)}.
+     * <p>
+     * The encoder must not be reconfigured, and must not be used any more after a call that may take this thread's
+     * encoder again.
+     * </p>
+     * 
+     * @param charset
+     *            the charset to encode with
+     * @return an encoder for <code>charset</code> owned by the current thread
+     */
+    public static CharsetEncoder getEncoder(Charset charset) {
+        Coders coders = CODERS.get();
+        CharsetEncoder encoder = coders.encoder;
+        if (encoder == null || !encoder.charset().equals(charset)) {
+            encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            coders.encoder = encoder;
+        }
+        return encoder.reset();
+    }
+
+    /**
+     * Returns this thread's decoder for the given charset, reset and replacing malformed input and unmappable
+     * characters as {@link String#String(byte[], Charset)} does. The same rules as for {@link #getEncoder(Charset)}
+     * apply.
+     * 
+     * @param charset
+     *            the charset to decode with
+     * @return a decoder for <code>charset</code> owned by the current thread
+     */
+    public static CharsetDecoder getDecoder(Charset charset) {
+        Coders coders = CODERS.get();
+        CharsetDecoder decoder = coders.decoder;
+        if (decoder == null || !decoder.charset().equals(charset)) {
+            decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            coders.decoder = decoder;
+        }
+        return decoder.reset();
+    }
+
+    /**
+     * Copies characters of a sequence from <code>start</code> into <code>dst</code>, as many as fit, in bulk where the
+     * type of the sequence allows it. A high surrogate that would be the last character copied into a full
+     * <code>dst</code> is left for the next call, so that a surrogate pair is never split.
+     * 
+     * @param chars
+     *            the characters to copy
+     * @param start
+     *            the index of the first character to copy
+     * @param dst
+     *            the array receiving the characters, at least 2 long
+     * @return the number of characters copied
+     */
+    public static int getChars(CharSequence chars, int start, char[] dst) {
+        int n = chars.length();
+        int m = Math.min(dst.length, n - start);
+        int end = start + m;
+        if (chars instanceof String) {
+            ((String) chars).getChars(start, end, dst, 0);
+        } else if (chars instanceof StringBuilder) {
+            ((StringBuilder) chars).getChars(start, end, dst, 0);
+        } else if (chars instanceof StringBuffer) {
+            ((StringBuffer) chars).getChars(start, end, dst, 0);
+        } else {
+            for (int i = 0; i < m; i++) {
+                dst[i] = chars.charAt(start + i);
+            }
+        }
+        if (end < n && m > 1 && Character.isHighSurrogate(dst[m - 1])) {
+            m--;
+        }
+        return m;
+    }
+
     /**
      * Constructs a new <code>String</code> by decoding the specified array of bytes using the given charset.
      * <p>
-     * This method catches {@link UnsupportedEncodingException} and re-throws it as {@link IllegalStateException}, which
-     * should never happen for a required charset name. Use this method when the encoding is required to be in the JRE.
+     * This method throws {@link IllegalStateException} for an unsupported charset name, which should never happen for a
+     * required charset name. Use this method when the encoding is required to be in the JRE. The charsets of
+     * {@link CharEncoding} are not looked up by name but taken from {@link Charsets}.
      * </p>
      * 
      * @param bytes
@@ -176,8 +289,7 @@ public class StringUtils {
      *            The name of a required {@link java.nio.charset.Charset}
      * @return A new <code>String</code> decoded from the specified array of bytes using the given charset.
      * @throws IllegalStateException
-     *             Thrown when a {@link UnsupportedEncodingException} is caught, which should never happen for a
-     *             required charset name.
+     *             Thrown when the charset is not supported, which should never happen for a required charset name.
      * @see CharEncoding
      * @see String#String(byte[], String)
      */
@@ -185,11 +297,26 @@ public class StringUtils {
         if (bytes == null) {
             return null;
         }
-        try {
-            return new String(bytes, charsetName);
-        } catch (UnsupportedEncodingException e) {
-            throw StringUtils.newIllegalStateException(charsetName, e);
+        return new String(bytes, toCharset(charsetName));
+    }
+
+    /**
+     * Constructs a new <code>String</code> by decoding the specified array of bytes using the given charset. Malformed
+     * input and unmappable characters are replaced as by {@link String#String(byte[], Charset)}.
+     * 
+     * @param bytes
+     *            The bytes to be decoded into characters
+     * @param charset
+     *            The charset to decode with
+     * @return A new <code>String</code> decoded from the specified array of bytes, or <code>null</code> if
+     *         <code>bytes</code> is <code>null</code>
+     * @see Charsets
+     */
+    public static String newString(byte[] bytes, Charset charset) {
+        if (bytes == null) {
+            return null;
         }
+        return new String(bytes, charset);
     }
 
     /**
@@ -198,12 +325,9 @@ public class StringUtils {
      * @param bytes
      *            The bytes to be decoded into characters
      * @return A new <code>String</code> decoded from the specified array of bytes using the given charset.
-     * @throws IllegalStateException
-     *             Thrown when a {@link UnsupportedEncodingException} is caught, which should never happen since the
-     *             charset is required.
      */
     public static String newStringIso8859_1(byte[] bytes) {
-        return StringUtils.newString(bytes, CharEncoding.ISO_8859_1);
+        return StringUtils.newString(bytes, Charsets.ISO_8859_1);
     }
 
     /**
@@ -212,12 +336,9 @@ public class StringUtils {
      * @param bytes
      *            The bytes to be decoded into characters
      * @return A new <code>String</code> decoded from the specified array of bytes using the given charset.
-     * @throws IllegalStateException
-     *             Thrown when a {@link UnsupportedEncodingException} is caught, which should never happen since the
-     *             charset is required.
      */
     public static String newStringUsAscii(byte[] bytes) {
-        return StringUtils.newString(bytes, CharEncoding.US_ASCII);
+        return StringUtils.newString(bytes, Charsets.US_ASCII);
     }
 
     /**
@@ -226,12 +347,9 @@ public class StringUtils {
      * @param bytes
      *            The bytes to be decoded into characters
      * @return A new <code>String</code> decoded from the specified array of bytes using the given charset.
-     * @throws IllegalStateException
-     *             Thrown when a {@link UnsupportedEncodingException} is caught, which should never happen since the
-     *             charset is required.
      */
     public static String newStringUtf16(byte[] bytes) {
-        return StringUtils.newString(bytes, CharEncoding.UTF_16);
+        return StringUtils.newString(bytes, Charsets.UTF_16);
     }
 
     /**
@@ -240,12 +358,9 @@ public class StringUtils {
      * @param bytes
      *            The bytes to be decoded into characters
      * @return A new <code>String</code> decoded from the specified array of bytes using the given charset.
-     * @throws IllegalStateException
-     *             Thrown when a {@link UnsupportedEncodingException} is caught, which should never happen since the
-     *             charset is required.
      */
     public static String newStringUtf16Be(byte[] bytes) {
-        return StringUtils.newString(bytes, CharEncoding.UTF_16BE);
+        return StringUtils.newString(bytes, Charsets.UTF_16BE);
     }
 
     /**
@@ -254,12 +369,9 @@ public class StringUtils {
      * @param bytes
      *            The bytes to be decoded into characters
      * @return A new <code>String</code> decoded from the specified array of bytes using the given charset.
-     * @throws IllegalStateException
-     *             Thrown when a {@link UnsupportedEncodingException} is caught, which should never happen since the
-     *             charset is required.
      */
     public static String newStringUtf16Le(byte[] bytes) {
-        return StringUtils.newString(bytes, CharEncoding.UTF_16LE);
+        return StringUtils.newString(bytes, Charsets.UTF_16LE);
     }
 
     /**
@@ -268,12 +380,18 @@ public class StringUtils {
      * @param bytes
      *            The bytes to be decoded into characters
      * @return A new <code>String</code> decoded from the specified array of bytes using the given charset.
-     * @throws IllegalStateException
-     *             Thrown when a {@link UnsupportedEncodingException} is caught, which should never happen since the
-     *             charset is required.
      */
     public static String newStringUtf8(byte[] bytes) {
-        return StringUtils.newString(bytes, CharEncoding.UTF_8);
+        return StringUtils.newString(bytes, Charsets.UTF_8);
     }
 
+    /**
+     * The encoder and decoder kept for one thread.
+     */
+    private static final class Coders {
+
+        private CharsetEncoder encoder;
+
+        private CharsetDecoder decoder;
+    }
 }
@@ -19,9 +19,17 @@ package org.apache.commons.codec.digest;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
+import org.apache.commons.codec.Charsets;
 import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.binary.StringUtils;
 
@@ -35,6 +43,48 @@ public class DigestUtils {
 
     private static final int STREAM_BUFFER_LENGTH = 1024;
 
+    /**
+     * Size of the scratch buffer that character data is encoded into before it is fed to the digest.
+     */
+    private static final int ENCODE_BUFFER_LENGTH = 8192;
+
+    /**
+     * Number of characters copied at a time out of character data before it is encoded.
+     */
+    private static final int ENCODE_CHUNK_LENGTH = 1024;
+
+    /**
+     * Strings up to this length are encoded in one piece, which is faster for short input; longer strings are encoded
+     * incrementally so that no byte array of the full encoded size is created.
+     */
+    private static final int MAX_COPIED_STRING_LENGTH = 4096;
+
+    /**
+     * Size of the direct buffer that file content is read into before it is fed to the digest.
+     */
+    private static final int READ_BUFFER_LENGTH = 1 << 16;
+
+    /**
+     * One direct read buffer per thread, reused across files, so digesting a file leaves no mapped regions or fresh
+     * direct buffers for the garbage collector to release.
+     */
+    private static final ThreadLocal<ByteBuffer> READ_BUFFER = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+            return ByteBuffer.allocateDirect(READ_BUFFER_LENGTH);
+        }
+    };
+
+    private static final DigestPool MD5_DIGESTS = new DigestPool("MD5");
+
+    private static final DigestPool SHA_DIGESTS = new DigestPool("SHA");
+
+    private static final DigestPool SHA256_DIGESTS = new DigestPool("SHA-256");
+
+    private static final DigestPool SHA384_DIGESTS = new DigestPool("SHA-384");
+
+    private static final DigestPool SHA512_DIGESTS = new DigestPool("SHA-512");
+
     /**
      * Read through an InputStream and returns the digest for the data
      * 
@@ -58,6 +108,22 @@ public class DigestUtils {
         return digest.digest();
     }
 
+    /**
+     * Returns the digest of the UTF-8 encoding of a String.
+     * 
+     * @param digest
+     *            The MessageDigest to use
+     * @param data
+     *            Data to digest
+     * @return the digest
+     */
+    private static byte[] digest(MessageDigest digest, String data) {
+        if (data.length() <= MAX_COPIED_STRING_LENGTH) {
+            return digest.digest(getBytesUtf8(data));
+        }
+        return updateDigest(digest, (CharSequence) data).digest();
+    }
+
     /**
      * Calls {@link StringUtils#getBytesUtf8(String)}
      * 
@@ -82,7 +148,7 @@ public class DigestUtils {
      * @throws RuntimeException
      *             when a {@link java.security.NoSuchAlgorithmException} is caught.
      */
-    static MessageDigest getDigest(String algorithm) {
+    public static MessageDigest getDigest(String algorithm) {
         try {
             return MessageDigest.getInstance(algorithm);
         } catch (NoSuchAlgorithmException e) {
@@ -92,13 +158,19 @@ public class DigestUtils {
 
     /**
      * Returns an MD5 MessageDigest.
+     * <p>
+     * The digest is owned by the calling thread and is reset before it is returned. It must be used up before the next
+     * call on the same thread and must not be handed to another thread. Methods that read from a caller supplied
+     * stream use a fresh digest from {@link #getDigest(String)} instead, since the stream may call back into this class.
+     * The same applies to the other pooled getters below.
+     * </p>
      * 
      * @return An MD5 digest instance.
      * @throws RuntimeException
      *             when a {@link java.security.NoSuchAlgorithmException} is caught.
      */
     private static MessageDigest getMd5Digest() {
-        return getDigest("MD5");
+        return MD5_DIGESTS.acquire();
     }
 
     /**
@@ -112,7 +184,7 @@ public class DigestUtils {
      *             when a {@link java.security.NoSuchAlgorithmException} is caught.
      */
     private static MessageDigest getSha256Digest() {
-        return getDigest("SHA-256");
+        return SHA256_DIGESTS.acquire();
     }
 
     /**
@@ -126,7 +198,7 @@ public class DigestUtils {
      *             when a {@link java.security.NoSuchAlgorithmException} is caught.
      */
     private static MessageDigest getSha384Digest() {
-        return getDigest("SHA-384");
+        return SHA384_DIGESTS.acquire();
     }
 
     /**
@@ -140,7 +212,7 @@ public class DigestUtils {
      *             when a {@link java.security.NoSuchAlgorithmException} is caught.
      */
     private static MessageDigest getSha512Digest() {
-        return getDigest("SHA-512");
+        return SHA512_DIGESTS.acquire();
     }
 
     /**
@@ -151,7 +223,145 @@ public class DigestUtils {
      *             when a {@link java.security.NoSuchAlgorithmException} is caught.
      */
     private static MessageDigest getShaDigest() {
-        return getDigest("SHA");
+        return SHA_DIGESTS.acquire();
+    }
+
+    /**
+     * Updates the digest with the remaining bytes of a buffer. Heap and direct buffers are both accepted; the position
+     * of <code>data</code> is not changed.
+     * 
+     * @param messageDigest
+     *            The MessageDigest to update
+     * @param data
+     *            Data to digest, from its position to its limit
+     * @return the updated <code>messageDigest</code>
+     */
+    public static MessageDigest updateDigest(MessageDigest messageDigest, ByteBuffer data) {
+        messageDigest.update(data.duplicate());
+        return messageDigest;
+    }
+
+    /**
+     * Updates the digest with the UTF-8 encoding of a character sequence. The characters are encoded a block at a time
+     * into a fixed size buffer, so no byte array of the full encoded size is created. Unpaired surrogates are encoded
+     * as <code>'?'</code>, as {@link String#getBytes(String)} does.
+     * 
+     * @param messageDigest
+     *            The MessageDigest to update
+     * @param data
+     *            Data to digest
+     * @return the updated <code>messageDigest</code>
+     */
+    public static MessageDigest updateDigest(MessageDigest messageDigest, CharSequence data) {
+        int length = data.length();
+        char[] chars = new char[Math.min(length, ENCODE_CHUNK_LENGTH)];
+        byte[] buffer = new byte[ENCODE_BUFFER_LENGTH];
+        ByteBuffer out = ByteBuffer.wrap(buffer);
+        CharsetEncoder encoder = StringUtils.getEncoder(Charsets.UTF_8);
+        for (int start = 0; start < length;) {
+            // chunks never end between the two chars of a surrogate pair
+            int n = StringUtils.getChars(data, start, chars);
+            start += n;
+            CharBuffer in = CharBuffer.wrap(chars, 0, n);
+            while (encoder.encode(in, out, true).isOverflow()) {
+                messageDigest.update(buffer, 0, out.position());
+                // Buffer.clear() rather than the covariant JDK 9+ override, so this links on Java 7 and 8
+                ((Buffer) out).clear();
+            }
+            encoder.reset();
+        }
+        messageDigest.update(buffer, 0, out.position());
+        return messageDigest;
+    }
+
+    /**
+     * Updates the digest with the whole content of a file channel, independent of the channel's current position. The
+     * file is read with positional reads through a reused direct buffer, so the channel's position is left unchanged.
+     * 
+     * @param messageDigest
+     *            The MessageDigest to update
+     * @param data
+     *            A channel opened for reading
+     * @return the updated <code>messageDigest</code>
+     * @throws IOException
+     *             On error reading the file
+     */
+    public static MessageDigest updateDigest(MessageDigest messageDigest, FileChannel data) throws IOException {
+        ByteBuffer buffer = READ_BUFFER.get();
+        long position = 0;
+        while (true) {
+            // Buffer.clear() and flip() rather than the covariant JDK 9+ overrides, so this links on Java 7 and 8
+            ((Buffer) buffer).clear();
+            int read = data.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            ((Buffer) buffer).flip();
+            messageDigest.update(buffer);
+            position += read;
+        }
+        return messageDigest;
+    }
+
+    /**
+     * Returns the digest of the remaining bytes of a buffer. The position of <code>data</code> is not changed.
+     * 
+     * @param messageDigest
+     *            The MessageDigest to use (e.g. MD5)
+     * @param data
+     *            Data to digest, from its position to its limit
+     * @return the digest
+     */
+    public static byte[] digest(MessageDigest messageDigest, ByteBuffer data) {
+        return updateDigest(messageDigest, data).digest();
+    }
+
+    /**
+     * Returns the digest of the UTF-8 encoding of a character sequence, without creating the encoded byte array.
+     * 
+     * @param messageDigest
+     *            The MessageDigest to use (e.g. MD5)
+     * @param data
+     *            Data to digest
+     * @return the digest
+     */
+    public static byte[] digest(MessageDigest messageDigest, CharSequence data) {
+        return updateDigest(messageDigest, data).digest();
+    }
+
+    /**
+     * Returns the digest of the whole content of a file channel, independent of the channel's current position.
+     * 
+     * @param messageDigest
+     *            The MessageDigest to use (e.g. MD5)
+     * @param data
+     *            A channel opened for reading
+     * @return the digest
+     * @throws IOException
+     *             On error reading the file
+     */
+    public static byte[] digest(MessageDigest messageDigest, FileChannel data) throws IOException {
+        return updateDigest(messageDigest, data).digest();
+    }
+
+    /**
+     * Returns the digest of a file, read through a reused direct buffer.
+     * 
+     * @param messageDigest
+     *            The MessageDigest to use (e.g. MD5)
+     * @param data
+     *            The file to digest
+     * @return the digest
+     * @throws IOException
+     *             On error opening or reading the file
+     */
+    public static byte[] digest(MessageDigest messageDigest, Path data) throws IOException {
+        FileChannel channel = FileChannel.open(data, StandardOpenOption.READ);
+        try {
+            return digest(messageDigest, channel);
+        } finally {
+            channel.close();
+        }
     }
 
     /**
@@ -176,7 +386,7 @@ public class DigestUtils {
      * @since 1.4
      */
     public static byte[] md5(InputStream data) throws IOException {
-        return digest(getMd5Digest(), data);
+        return digest(getDigest("MD5"), data);
     }
 
     /**
@@ -187,7 +397,7 @@ public class DigestUtils {
      * @return MD5 digest
      */
     public static byte[] md5(String data) {
-        return md5(getBytesUtf8(data));
+        return digest(getMd5Digest(), data);
     }
 
     /**
@@ -248,7 +458,7 @@ public class DigestUtils {
      * @since 1.4
      */
     public static byte[] sha(InputStream data) throws IOException {
-        return digest(getShaDigest(), data);
+        return digest(getDigest("SHA"), data);
     }
 
     /**
@@ -259,7 +469,7 @@ public class DigestUtils {
      * @return SHA-1 digest
      */
     public static byte[] sha(String data) {
-        return sha(getBytesUtf8(data));
+        return digest(getShaDigest(), data);
     }
 
     /**
@@ -291,7 +501,7 @@ public class DigestUtils {
      * @since 1.4
      */
     public static byte[] sha256(InputStream data) throws IOException {
-        return digest(getSha256Digest(), data);
+        return digest(getDigest("SHA-256"), data);
     }
 
     /**
@@ -306,7 +516,7 @@ public class DigestUtils {
      * @since 1.4
      */
     public static byte[] sha256(String data) {
-        return sha256(getBytesUtf8(data));
+        return digest(getSha256Digest(), data);
     }
 
     /**
@@ -385,7 +595,7 @@ public class DigestUtils {
      * @since 1.4
      */
     public static byte[] sha384(InputStream data) throws IOException {
-        return digest(getSha384Digest(), data);
+        return digest(getDigest("SHA-384"), data);
     }
 
     /**
@@ -400,7 +610,7 @@ public class DigestUtils {
      * @since 1.4
      */
     public static byte[] sha384(String data) {
-        return sha384(getBytesUtf8(data));
+        return digest(getSha384Digest(), data);
     }
 
     /**
@@ -479,7 +689,7 @@ public class DigestUtils {
      * @since 1.4
      */
     public static byte[] sha512(InputStream data) throws IOException {
-        return digest(getSha512Digest(), data);
+        return digest(getDigest("SHA-512"), data);
     }
 
     /**
@@ -494,7 +704,7 @@ public class DigestUtils {
      * @since 1.4
      */
     public static byte[] sha512(String data) {
-        return sha512(getBytesUtf8(data));
+        return digest(getSha512Digest(), data);
     }
 
     /**
@@ -579,4 +789,32 @@ public class DigestUtils {
     public static String shaHex(String data) {
         return Hex.encodeHexString(sha(data));
     }
+
+    /**
+     * Keeps one <code>MessageDigest</code> per thread for an algorithm, so the provider lookup done by
+     * {@link MessageDigest#getInstance(String)} happens once per thread instead of once per call.
+     */
+    private static final class DigestPool extends ThreadLocal<MessageDigest> {
+
+        private final String algorithm;
+
+        DigestPool(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        protected MessageDigest initialValue() {
+            return getDigest(algorithm);
+        }
+
+        /**
+         * Returns this thread's digest, reset so that a computation that failed half way cannot affect the next one.
+         * 
+         * @return A reset digest instance.
+         */
+        MessageDigest acquire() {
+            MessageDigest digest = get();
+            digest.reset();
+            return digest;
+        }
+    }
 }
@@ -0,0 +1,135 @@
+package strman;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 预先解析的格式化模板， 由 {@link Strman#compileFormat(String)} 创建。 <br/>
+ * 模板中的 {0}、 {1} ... 在解析时被拆分为文本片段和参数位置， 格式化时只按顺序拼接一遍，
+ * 参数中出现的占位符不会再被替换。 实例是不可变的， 可以在多个线程之间共享。
+ */
+public final class FormatTemplate {
+
+    /*
+     * Strman.format使用的模板缓存
+     */
+    private static final LruCache<String, FormatTemplate> CACHE = new LruCache<String, FormatTemplate>(256);
+
+    private final String template;
+
+    /*
+     * literals[i]之后是第indexes[i]个参数， literals比indexes多一个元素
+     */
+    private final String[] literals;
+    private final int[] indexes;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private FormatTemplate(final String template) {
+        this.template = template;
+        List<String> literalList = new ArrayList<String>();
+        List<String> placeholderList = new ArrayList<String>();
+        int length = template.length();
+        int start = 0;
+        int i = 0;
+        while (i < length) {
+            if (template.charAt(i) != '{') {
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && Strman.isWordChar(template.charAt(end))) {
+                end++;
+            }
+            if (end == i + 1 || end == length || template.charAt(end) != '}') {
+                i++;
+                continue;
+            }
+            literalList.add(template.substring(start, i));
+            placeholderList.add(template.substring(i, end + 1));
+            i = end + 1;
+            start = i;
+        }
+        literalList.add(template.substring(start));
+        this.literals = literalList.toArray(new String[literalList.size()]);
+        this.placeholders = placeholderList.toArray(new String[placeholderList.size()]);
+        this.indexes = new int[placeholders.length];
+        for (int j = 0; j < indexes.length; j++) {
+            String placeholder = placeholders[j];
+            indexes[j] = Integer.parseInt(placeholder.substring(1, placeholder.length() - 1));
+        }
+        int total = 0;
+        for (String literal : literals) {
+            total += literal.length();
+        }
+        this.literalLength = total;
+    }
+
+    /*
+     * 从缓存中得到模板， 没有时解析并放入缓存
+     */
+    static FormatTemplate compile(final String template) {
+        FormatTemplate compiled = CACHE.get(template);
+        if (compiled == null) {
+            compiled = new FormatTemplate(template);
+            CACHE.put(template, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * 使用参数格式化模板
+     *
+     * @param params 参数， {n}被替换为params[n]
+     * @return 格式化之后的字符串， 模板中没有占位符时直接返回模板本身
+     */
+    public String format(final String... params) {
+        if (indexes.length == 0) {
+            return template;
+        }
+        StringBuilder builder = new StringBuilder(literalLength + 16 * indexes.length);
+        try {
+            render(builder, params);
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 使用参数格式化模板并写入到out中
+     *
+     * @param out    输出的目标
+     * @param params 参数， {n}被替换为params[n]
+     * @throws IOException 写入out失败
+     */
+    public void formatTo(final Appendable out, final String... params) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("'out' should be not null.");
+        }
+        render(out, params);
+    }
+
+    private void render(final Appendable out, final String[] params) throws IOException {
+        for (int i = 0; i < indexes.length; i++) {
+            int index = indexes[i];
+            if (params == null || index >= params.length) {
+                throw new IllegalArgumentException("params does not have value for " + placeholders[i]);
+            }
+            out.append(literals[i]).append(params[index]);
+        }
+        out.append(literals[indexes.length]);
+    }
+
+    /**
+     * 得到原始的模板
+     *
+     * @return 模板字符串
+     */
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,241 @@
+package strman;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 单遍扫描的HTML实体解码器。 <br/>
+ * 实体名称由 {@link HtmlEntities#decodedEntities} 预先构建为字典树， 遇到 '&amp;' 时沿字典树取最长匹配；
+ * 同时支持 &amp;#123; 和 &amp;#x1F600; 形式的数字实体。 无法识别的内容原样输出。
+ */
+final class HtmlDecoder {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /*
+     * 数字实体允许的最大位数， 超过则视为普通文本
+     */
+    private static final int MAX_DIGITS = 8;
+
+    /*
+     * 输入在实体中间结束， 需要等待更多的输入
+     */
+    private static final int INCOMPLETE = -2;
+
+    private static final Node ROOT = new Node();
+
+    static {
+        for (Map.Entry<String, String> entry : HtmlEntities.decodedEntities.entrySet()) {
+            String name = entry.getKey();
+            Node node = ROOT;
+            for (int i = 1; i < name.length(); i++) {
+                node = node.add(name.charAt(i));
+            }
+            node.value = entry.getValue();
+        }
+    }
+
+    private HtmlDecoder() {}
+
+    /**
+     * 将字符串中所有的HTML实体转换为对应的字符
+     *
+     * @param value 输入的字符串
+     * @return 转换后的字符串， 如果不包含 '&amp;' 则直接返回输入的字符串
+     */
+    static String decode(final String value) {
+        int amp = value.indexOf('&');
+        if (amp < 0) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        try {
+            builder.append(value, 0, amp);
+            decode(value, amp, value.length(), true, builder);
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 从in中读取字符， 将HTML实体转换为对应的字符后写入out， 只占用固定大小的缓冲区
+     *
+     * @param in  输入
+     * @param out 输出
+     * @throws IOException 读取或写入失败
+     */
+    static void decode(final Reader in, final Writer out) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        CharBuffer sequence = CharBuffer.wrap(buffer);
+        int filled = 0;
+        boolean eof = false;
+        while (!eof) {
+            int read = in.read(buffer, filled, buffer.length - filled);
+            if (read < 0) {
+                eof = true;
+            } else {
+                filled += read;
+            }
+            int consumed = decode(sequence, 0, filled, eof, out);
+            System.arraycopy(buffer, consumed, buffer, 0, filled - consumed);
+            filled -= consumed;
+        }
+    }
+
+    /**
+     * 解码in中[start, end)区间的字符并写入out
+     *
+     * @param in         输入
+     * @param start      开始位置
+     * @param end        结束位置
+     * @param endOfInput 是否已经是全部输入， 为false时末尾不完整的实体不会被消费
+     * @param out        输出
+     * @return 已经消费的位置， 从该位置开始的字符需要和后续输入一起再次解码
+     * @throws IOException 写入失败
+     */
+    static int decode(final CharSequence in, final int start, final int end, final boolean endOfInput,
+                      final Appendable out) throws IOException {
+        int runStart = start;
+        int i = start;
+        while (i < end) {
+            if (in.charAt(i) != '&') {
+                i++;
+                continue;
+            }
+            int amp = i;
+            int matchEnd;
+            if (amp + 1 < end && in.charAt(amp + 1) == '#') {
+                matchEnd = numeric(in, amp + 2, end, endOfInput);
+                if (matchEnd == INCOMPLETE) {
+                    out.append(in, runStart, amp);
+                    return amp;
+                }
+                if (matchEnd > 0) {
+                    out.append(in, runStart, amp);
+                    appendCodePoint(out, parseNumeric(in, amp + 2, matchEnd));
+                }
+            } else {
+                matchEnd = -1;
+                String value = null;
+                Node node = ROOT;
+                int j = amp + 1;
+                while (j < end && (node = node.child(in.charAt(j))) != null) {
+                    j++;
+                    if (node.value != null) {
+                        value = node.value;
+                        matchEnd = j;
+                    }
+                }
+                if (j == end && node != null && !endOfInput) {
+                    out.append(in, runStart, amp);
+                    return amp;
+                }
+                if (value != null) {
+                    out.append(in, runStart, amp).append(value);
+                }
+            }
+            if (matchEnd > 0) {
+                runStart = matchEnd;
+                i = matchEnd;
+            } else {
+                i = amp + 1;
+            }
+        }
+        out.append(in, runStart, end);
+        return end;
+    }
+
+    /*
+     * 匹配 "#" 之后的数字实体， 返回实体结束的位置， -1 表示不是数字实体
+     */
+    private static int numeric(CharSequence in, int from, int end, boolean endOfInput) {
+        int i = from;
+        int radix = 10;
+        if (i < end && (in.charAt(i) == 'x' || in.charAt(i) == 'X')) {
+            radix = 16;
+            i++;
+        }
+        int digitsStart = i;
+        while (i < end && i - digitsStart <= MAX_DIGITS && Character.digit(in.charAt(i), radix) >= 0) {
+            i++;
+        }
+        if (i == end && !endOfInput) {
+            return INCOMPLETE;
+        }
+        if (i == digitsStart || i - digitsStart > MAX_DIGITS) {
+            return -1;
+        }
+        return i < end && in.charAt(i) == ';' ? i + 1 : i;
+    }
+
+    /*
+     * 解析数字实体的值， 超过最大码点后不再累加， 避免8位十六进制数溢出为负数或者较小的值
+     */
+    private static int parseNumeric(CharSequence in, int from, int end) {
+        int radix = 10;
+        int i = from;
+        if (in.charAt(i) == 'x' || in.charAt(i) == 'X') {
+            radix = 16;
+            i++;
+        }
+        int codePoint = 0;
+        for (; i < end && in.charAt(i) != ';'; i++) {
+            codePoint = codePoint * radix + Character.digit(in.charAt(i), radix);
+            if (codePoint > Character.MAX_CODE_POINT) {
+                return Character.MAX_CODE_POINT + 1;
+            }
+        }
+        return codePoint;
+    }
+
+    private static void appendCodePoint(Appendable out, int codePoint) throws IOException {
+        if (codePoint <= 0 || codePoint > Character.MAX_CODE_POINT
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            out.append('\uFFFD');
+        } else if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            out.append((char) codePoint);
+        } else {
+            char[] chars = Character.toChars(codePoint);
+            out.append(chars[0]).append(chars[1]);
+        }
+    }
+
+    /*
+     * 字典树节点， 子节点按字符升序保存
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private String value;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index < 0 ? null : children[index];
+        }
+
+        Node add(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            newKeys[index] = c;
+            newChildren[index] = new Node();
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[index];
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package strman;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 由 {@link HtmlEntities#encodedEntities} 预先编译得到的HTML实体编码器。 <br/>
+ * BMP字符通过按高8位分页的数组直接索引， 代理对（辅助平面字符）以及由两个字符组成的实体
+ * （例如 &amp;nvlt;）使用有序数组二分查找， 整个编码过程只扫描一遍输入。 <br/>
+ * 两个字符组成的实体只在第二个字符是组合符号时使用， 普通文本中的 "fj" 不会被转换为 &amp;fjlig;。
+ */
+final class HtmlEncoder {
+
+    /*
+     * BMP字符到实体的映射， BMP[c >>> 8][c & 0xFF]， 没有实体的页为null
+     */
+    private static final String[][] BMP = new String[256][];
+
+    /*
+     * 辅助平面字符的码点（升序）以及对应的实体
+     */
+    private static final int[] ASTRAL_CODE_POINTS;
+    private static final String[] ASTRAL_ENTITIES;
+
+    /*
+     * 两个BMP字符组成并且第二个字符为组合符号的实体， 键为 (first << 16) | second（升序）
+     */
+    private static final int[] PAIR_KEYS;
+    private static final String[] PAIR_ENTITIES;
+
+    /*
+     * 可以作为两字符实体第一个字符的字符集合
+     */
+    private static final BitSet PAIR_STARTS = new BitSet(0x10000);
+
+    static {
+        Map<Integer, String> astral = new TreeMap<Integer, String>();
+        Map<Integer, String> pairs = new TreeMap<Integer, String>();
+        for (Map.Entry<String, String> entry : HtmlEntities.encodedEntities.entrySet()) {
+            String key = unescape(entry.getKey());
+            if (key.length() == 1) {
+                char c = key.charAt(0);
+                String[] page = BMP[c >>> 8];
+                if (page == null) {
+                    page = new String[256];
+                    BMP[c >>> 8] = page;
+                }
+                page[c & 0xFF] = entry.getValue();
+            } else if (key.length() == 2 && Character.isSurrogatePair(key.charAt(0), key.charAt(1))) {
+                astral.put(key.codePointAt(0), entry.getValue());
+            } else if (key.length() == 2 && isCombiningMark(key.charAt(1))) {
+                pairs.put((key.charAt(0) << 16) | key.charAt(1), entry.getValue());
+                PAIR_STARTS.set(key.charAt(0));
+            }
+        }
+        ASTRAL_CODE_POINTS = new int[astral.size()];
+        ASTRAL_ENTITIES = new String[astral.size()];
+        int i = 0;
+        for (Map.Entry<Integer, String> entry : astral.entrySet()) {
+            ASTRAL_CODE_POINTS[i] = entry.getKey();
+            ASTRAL_ENTITIES[i++] = entry.getValue();
+        }
+        PAIR_KEYS = new int[pairs.size()];
+        PAIR_ENTITIES = new String[pairs.size()];
+        i = 0;
+        for (Map.Entry<Integer, String> entry : pairs.entrySet()) {
+            PAIR_KEYS[i] = entry.getKey();
+            PAIR_ENTITIES[i++] = entry.getValue();
+        }
+    }
+
+    private HtmlEncoder() {}
+
+    /**
+     * 将字符串中所有可以转换的字符转换为HTML实体
+     *
+     * @param value 输入的字符串
+     * @return 转换后的字符串， 如果没有需要转换的字符则直接返回输入的字符串
+     */
+    static String encode(final String value) {
+        try {
+            Appendable out = encode(value, null);
+            return out == null ? value : out.toString();
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 将字符序列中所有可以转换的字符转换为HTML实体， 并写入到out中
+     *
+     * @param value 输入的字符序列
+     * @param out   输出的目标， 为null时在遇到第一个需要转换的字符时才创建StringBuilder
+     * @return 写入的目标， 如果out为null并且没有需要转换的字符则返回null
+     * @throws IOException 写入out失败
+     */
+    static Appendable encode(final CharSequence value, Appendable out) throws IOException {
+        int length = value.length();
+        int start = 0;
+        int i = 0;
+        while (i < length) {
+            char c = value.charAt(i);
+            String entity = null;
+            int width = 1;
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                entity = astral(Character.toCodePoint(c, value.charAt(i + 1)));
+                width = 2;
+            } else {
+                if (i + 1 < length && PAIR_STARTS.get(c)) {
+                    entity = pair(c, value.charAt(i + 1));
+                    if (entity != null) {
+                        width = 2;
+                    }
+                }
+                if (entity == null) {
+                    entity = bmp(c);
+                }
+            }
+            if (entity != null) {
+                if (out == null) {
+                    out = new StringBuilder(length + 16);
+                }
+                out.append(value, start, i).append(entity);
+                start = i + width;
+            }
+            i += width;
+        }
+        if (out != null) {
+            out.append(value, start, length);
+        }
+        return out;
+    }
+
+    private static String bmp(char c) {
+        String[] page = BMP[c >>> 8];
+        return page == null ? null : page[c & 0xFF];
+    }
+
+    private static String astral(int codePoint) {
+        int index = Arrays.binarySearch(ASTRAL_CODE_POINTS, codePoint);
+        return index < 0 ? null : ASTRAL_ENTITIES[index];
+    }
+
+    private static String pair(char first, char second) {
+        int index = Arrays.binarySearch(PAIR_KEYS, (first << 16) | second);
+        return index < 0 ? null : PAIR_ENTITIES[index];
+    }
+
+    /*
+     * 是否为组合符号， 只有这类字符才需要与前一个字符一起转换
+     */
+    private static boolean isCombiningMark(char c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    /*
+     * 将 "\\u00C6\\u0338" 形式的键还原为实际的字符
+     */
+    private static String unescape(String key) {
+        StringBuilder builder = new StringBuilder(key.length() / 6);
+        for (int i = 0; i + 6 <= key.length(); i += 6) {
+            builder.append((char) Integer.parseInt(key.substring(i + 2, i + 6), 16));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package strman;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 线程安全、 有容量上限的缓存， 超出容量时淘汰最久没有使用的元素， 并记录命中次数。
+ */
+final class LruCache<K, V> {
+
+    private final int capacity;
+    private final Map<K, V> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    LruCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("'capacity' should be greater than 0.");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+    }
+
+    /*
+     * 查找缓存的元素， 同时记录命中或没有命中
+     */
+    V get(final K key) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        if (value == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return value;
+    }
+
+    void put(final K key, final V value) {
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+
+    long getHitCount() {
+        return hits.get();
+    }
+
+    long getMissCount() {
+        return misses.get();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+}
@@ -0,0 +1,433 @@
+package strman;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 由多个要查找的字符串编译成的Aho-Corasick自动机， 由 {@link Strman#compileNeedles(String[], boolean)} 创建。 <br/>
+ * 只扫描一遍输入就能得到包含哪些字符串， 与字符串的个数无关； 大小写不敏感时按字符折叠比较， 不会复制输入。 <br/>
+ * 实例是不可变的， 可以在多个线程之间共享。
+ */
+public final class NeedleMatcher {
+
+    /*
+     * Strman.containsAny和containsAll使用的缓存， 只保存较小的自动机
+     */
+    private static final LruCache<Key, NeedleMatcher> CACHE = new LruCache<Key, NeedleMatcher>(64);
+
+    /*
+     * 转移表和字典树的元素个数之和不超过该值时才放入缓存， 缓存最多占用几MB
+     */
+    private static final int MAX_CACHED_SIZE = 1 << 15;
+
+    private final String[] needles;
+    private final boolean caseSensitive;
+
+    /*
+     * 状态按广度优先顺序编号， 状态s的子节点为 [childStart[s], childStart[s + 1])，
+     * keys有序， 对应的子状态在targets中
+     */
+    private final int[] childStart;
+    private final char[] keys;
+    private final int[] targets;
+
+    /*
+     * 失败转移、 最近的带有输出的后缀状态（没有则为-1）以及在该状态结束的字符串下标
+     */
+    private final int[] fail;
+    private final int[] dictionary;
+    private final int[][] outputs;
+    private final boolean[] reports;
+
+    /*
+     * 根状态有子节点的字符， 在根状态时快速跳过无关字符
+     */
+    private final BitSet rootChars = new BitSet();
+
+    /*
+     * 转移表不超过该大小时展开为确定的自动机， 否则沿失败转移查找
+     */
+    private static final int MAX_TABLE_SIZE = 1 << 21;
+
+    /*
+     * 展开后的转移表： 字符先按 symbols[c >>> 8][c & 0xFF] 映射为编号（0表示不在任何字符串中），
+     * 下一个状态为 transitions[state * alphabet + symbol]， 没有展开时为null
+     */
+    private final char[][] symbols;
+    private final int alphabet;
+    private final int[] transitions;
+
+    NeedleMatcher(final String[] needles, final boolean caseSensitive) {
+        if (needles == null) {
+            throw new IllegalArgumentException("'needles' should be not null.");
+        }
+        this.needles = needles.clone();
+        this.caseSensitive = caseSensitive;
+
+        List<TreeMap<Character, Integer>> trie = new ArrayList<TreeMap<Character, Integer>>();
+        List<List<Integer>> ends = new ArrayList<List<Integer>>();
+        trie.add(new TreeMap<Character, Integer>());
+        ends.add(null);
+        for (int k = 0; k < this.needles.length; k++) {
+            String needle = this.needles[k];
+            if (needle == null) {
+                throw new IllegalArgumentException("'needles' should not contain null.");
+            }
+            int node = 0;
+            for (int i = 0; i < needle.length(); i++) {
+                char c = fold(needle.charAt(i));
+                Integer next = trie.get(node).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<Character, Integer>());
+                    ends.add(null);
+                    trie.get(node).put(c, next);
+                }
+                node = next;
+            }
+            if (ends.get(node) == null) {
+                ends.set(node, new ArrayList<Integer>());
+            }
+            ends.get(node).add(k);
+        }
+
+        // 按广度优先重新编号， 使每个状态的子节点连续存放， 并且失败转移总是指向编号更小的状态
+        int size = trie.size();
+        int[] order = new int[size];
+        int[] ids = new int[size];
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            for (Integer child : trie.get(order[head]).values()) {
+                ids[child] = tail;
+                order[tail++] = child;
+            }
+        }
+        childStart = new int[size + 1];
+        keys = new char[size - 1];
+        targets = new int[size - 1];
+        outputs = new int[size][];
+        int edge = 0;
+        for (int state = 0; state < size; state++) {
+            childStart[state] = edge;
+            for (Map.Entry<Character, Integer> entry : trie.get(order[state]).entrySet()) {
+                keys[edge] = entry.getKey();
+                targets[edge++] = ids[entry.getValue()];
+            }
+            List<Integer> end = ends.get(order[state]);
+            if (end != null) {
+                outputs[state] = new int[end.size()];
+                for (int i = 0; i < end.size(); i++) {
+                    outputs[state][i] = end.get(i);
+                }
+            }
+        }
+        childStart[size] = edge;
+        for (int i = childStart[0]; i < childStart[1]; i++) {
+            rootChars.set(keys[i]);
+        }
+
+        fail = new int[size];
+        dictionary = new int[size];
+        reports = new boolean[size];
+        dictionary[0] = -1;
+        reports[0] = outputs[0] != null;
+        for (int state = 0; state < size; state++) {
+            for (int i = childStart[state]; i < childStart[state + 1]; i++) {
+                int target = targets[i];
+                int suffix = 0;
+                if (state != 0) {
+                    int candidate = fail[state];
+                    int next;
+                    while ((next = child(candidate, keys[i])) < 0 && candidate != 0) {
+                        candidate = fail[candidate];
+                    }
+                    suffix = next < 0 ? 0 : next;
+                }
+                fail[target] = suffix;
+                dictionary[target] = outputs[suffix] != null ? suffix : dictionary[suffix];
+                reports[target] = outputs[target] != null || dictionary[target] >= 0;
+            }
+        }
+
+        // 为出现过的字符编号， 大小写不敏感时所有折叠后相同的字符使用同一个编号
+        char[] distinct = new char[keys.length];
+        System.arraycopy(keys, 0, distinct, 0, keys.length);
+        Arrays.sort(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[count++] = distinct[i];
+            }
+        }
+        alphabet = count + 1;
+        if ((long) size * alphabet > MAX_TABLE_SIZE) {
+            symbols = null;
+            transitions = null;
+            return;
+        }
+        symbols = new char[256][];
+        for (int i = 0; i < count; i++) {
+            setSymbol(distinct[i], i + 1);
+            if (!caseSensitive) {
+                for (char variant : FoldVariants.of(distinct[i])) {
+                    setSymbol(variant, i + 1);
+                }
+            }
+        }
+        transitions = new int[size * alphabet];
+        for (int state = 0; state < size; state++) {
+            for (int symbol = 1; symbol < alphabet; symbol++) {
+                int next = child(state, distinct[symbol - 1]);
+                if (next < 0) {
+                    next = state == 0 ? 0 : transitions[fail[state] * alphabet + symbol];
+                }
+                transitions[state * alphabet + symbol] = next;
+            }
+        }
+    }
+
+    private void setSymbol(final char c, final int symbol) {
+        char[] page = symbols[c >>> 8];
+        if (page == null) {
+            page = new char[256];
+            symbols[c >>> 8] = page;
+        }
+        page[c & 0xFF] = (char) symbol;
+    }
+
+    /*
+     * 从缓存中得到自动机， 没有时编译， 较小的自动机放入缓存
+     */
+    static NeedleMatcher compile(final String[] needles, final boolean caseSensitive) {
+        if (needles == null) {
+            throw new IllegalArgumentException("'needles' should be not null.");
+        }
+        NeedleMatcher matcher = CACHE.get(new Key(needles, caseSensitive));
+        if (matcher == null) {
+            matcher = new NeedleMatcher(needles, caseSensitive);
+            if (matcher.footprint() <= MAX_CACHED_SIZE) {
+                // 使用复制后的数组作为键， 调用方之后修改数组不会影响缓存
+                CACHE.put(new Key(matcher.needles, caseSensitive), matcher);
+            }
+        }
+        return matcher;
+    }
+
+    /*
+     * 转移表和字典树的元素个数之和
+     */
+    private long footprint() {
+        return (transitions == null ? 0L : transitions.length) + keys.length + fail.length;
+    }
+
+    /**
+     * 判断输入是否包含任意一个字符串
+     *
+     * @param value 输入的字符序列
+     * @return 包含任意一个返回true， 否则返回false； 没有要查找的字符串时返回false
+     */
+    public boolean containsAny(final CharSequence value) {
+        return scan(value, new BitSet(needles.length), 1) > 0;
+    }
+
+    /**
+     * 判断输入是否包含所有的字符串
+     *
+     * @param value 输入的字符序列
+     * @return 都包含返回true， 否则返回false； 没有要查找的字符串时返回true
+     */
+    public boolean containsAll(final CharSequence value) {
+        return scan(value, new BitSet(needles.length), needles.length) == needles.length;
+    }
+
+    /**
+     * 得到输入中包含的字符串
+     *
+     * @param value 输入的字符序列
+     * @return 包含的字符串在编译时数组中的下标
+     */
+    public BitSet matching(final CharSequence value) {
+        BitSet found = new BitSet(needles.length);
+        scan(value, found, needles.length);
+        return found;
+    }
+
+    /**
+     * 得到要查找的字符串的个数
+     *
+     * @return 字符串的个数
+     */
+    public int size() {
+        return needles.length;
+    }
+
+    /**
+     * 得到下标对应的字符串
+     *
+     * @param index 编译时数组中的下标
+     * @return 要查找的字符串
+     */
+    public String getNeedle(final int index) {
+        return needles[index];
+    }
+
+    /*
+     * 扫描输入并将找到的字符串下标记录到found中， 找到stopAt个不同的字符串时提前结束， 返回找到的个数
+     */
+    private int scan(final CharSequence value, final BitSet found, final int stopAt) {
+        if (value == null) {
+            throw new IllegalArgumentException("'value' should be not null.");
+        }
+        if (stopAt <= 0) {
+            return 0;
+        }
+        // 已经报告过的状态， 其后缀链上的输出也都已经报告过
+        BitSet reported = new BitSet();
+        // 空字符串在根状态结束， 任何输入都包含它
+        int count = reports[0] ? report(0, reported, found) : 0;
+        int state = 0;
+        int length = value.length();
+        for (int i = 0; i < length && count < stopAt; i++) {
+            char c = value.charAt(i);
+            if (transitions != null) {
+                char[] page = symbols[c >>> 8];
+                state = page == null ? 0 : transitions[state * alphabet + page[c & 0xFF]];
+            } else {
+                c = fold(c);
+                if (state == 0 && !rootChars.get(c)) {
+                    continue;
+                }
+                int next;
+                while ((next = child(state, c)) < 0 && state != 0) {
+                    state = fail[state];
+                }
+                state = next < 0 ? 0 : next;
+            }
+            if (reports[state]) {
+                count += report(state, reported, found);
+            }
+        }
+        return count;
+    }
+
+    /*
+     * 记录在state以及它的后缀状态结束的字符串， 返回新找到的个数
+     */
+    private int report(final int state, final BitSet reported, final BitSet found) {
+        int count = 0;
+        for (int node = state; node >= 0 && !reported.get(node); node = dictionary[node]) {
+            reported.set(node);
+            int[] output = outputs[node];
+            if (output == null) {
+                continue;
+            }
+            for (int k : output) {
+                if (!found.get(k)) {
+                    found.set(k);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int child(final int state, final char c) {
+        int from = childStart[state];
+        int to = childStart[state + 1];
+        if (from == to) {
+            return -1;
+        }
+        int position = Arrays.binarySearch(keys, from, to, c);
+        return position < 0 ? -1 : targets[position];
+    }
+
+    private char fold(final char c) {
+        return caseSensitive ? c : SubstringSearcher.fold(c);
+    }
+
+    /*
+     * 缓存键： 字符串数组的内容以及是否大小写敏感
+     */
+    private static final class Key {
+        private final String[] needles;
+        private final boolean caseSensitive;
+        private final int hash;
+
+        Key(String[] needles, boolean caseSensitive) {
+            this.needles = needles;
+            this.caseSensitive = caseSensitive;
+            this.hash = Arrays.hashCode(needles) * 31 + (caseSensitive ? 1 : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return caseSensitive == other.caseSensitive && Arrays.equals(needles, other.needles);
+        }
+    }
+
+    /*
+     * 折叠后与自身不同的字符， 按折叠结果分组。 第一次使用大小写不敏感的自动机时才计算
+     */
+    private static final class FoldVariants {
+        private static final char[] FOLDED;
+        private static final char[] VARIANTS;
+
+        static {
+            TreeMap<Character, List<Character>> groups = new TreeMap<Character, List<Character>>();
+            int total = 0;
+            for (int c = 0; c <= Character.MAX_VALUE; c++) {
+                char folded = SubstringSearcher.fold((char) c);
+                if (folded != c) {
+                    List<Character> group = groups.get(folded);
+                    if (group == null) {
+                        group = new ArrayList<Character>();
+                        groups.put(folded, group);
+                    }
+                    group.add((char) c);
+                    total++;
+                }
+            }
+            FOLDED = new char[total];
+            VARIANTS = new char[total];
+            int i = 0;
+            for (Map.Entry<Character, List<Character>> entry : groups.entrySet()) {
+                for (Character variant : entry.getValue()) {
+                    FOLDED[i] = entry.getKey();
+                    VARIANTS[i++] = variant;
+                }
+            }
+        }
+
+        /*
+         * 得到所有折叠后为folded的其他字符
+         */
+        static char[] of(final char folded) {
+            int position = Arrays.binarySearch(FOLDED, folded);
+            if (position < 0) {
+                return new char[0];
+            }
+            int from = position;
+            while (from > 0 && FOLDED[from - 1] == folded) {
+                from--;
+            }
+            int to = position + 1;
+            while (to < FOLDED.length && FOLDED[to] == folded) {
+                to++;
+            }
+            return Arrays.copyOfRange(VARIANTS, from, to);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package strman;
+
+import java.util.regex.Pattern;
+
+/**
+ * 线程安全、 有容量上限的正则表达式缓存， 超出容量时淘汰最久没有使用的Pattern。 <br/>
+ * Strman中所有需要使用调用方传入的正则表达式的方法都通过共享实例 {@link #getInstance()} 编译Pattern。
+ */
+public final class PatternCache {
+
+    /**
+     * 共享实例的默认容量
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final PatternCache INSTANCE = new PatternCache(DEFAULT_CAPACITY);
+
+    private final LruCache<Object, Pattern> patterns;
+
+    /**
+     * 创建一个指定容量的缓存
+     *
+     * @param capacity 最多缓存的Pattern个数
+     */
+    public PatternCache(final int capacity) {
+        this.patterns = new LruCache<Object, Pattern>(capacity);
+    }
+
+    /**
+     * 得到Strman使用的共享实例
+     *
+     * @return 共享的PatternCache
+     */
+    public static PatternCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 得到编译后的正则表达式， 缓存中没有时编译并放入缓存
+     *
+     * @param regex 正则表达式
+     * @return 编译后的Pattern
+     */
+    public Pattern compile(final String regex) {
+        return compile(regex, 0);
+    }
+
+    /**
+     * 得到编译后的正则表达式， 缓存中没有时编译并放入缓存
+     *
+     * @param regex 正则表达式
+     * @param flags 匹配标志， 参考 {@link Pattern#compile(String, int)}
+     * @return 编译后的Pattern
+     */
+    public Pattern compile(final String regex, final int flags) {
+        if (regex == null) {
+            throw new IllegalArgumentException("'regex' should be not null.");
+        }
+        // flags为0时直接以正则表达式为键， 避免每次查找都创建键对象
+        Object key = flags == 0 ? regex : new Key(regex, flags);
+        Pattern pattern = patterns.get(key);
+        if (pattern == null) {
+            // 在锁外编译， 避免较慢的编译阻塞其他线程
+            pattern = Pattern.compile(regex, flags);
+            patterns.put(key, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * 得到缓存命中的次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return patterns.getHitCount();
+    }
+
+    /**
+     * 得到缓存没有命中的次数
+     *
+     * @return 没有命中的次数
+     */
+    public long getMissCount() {
+        return patterns.getMissCount();
+    }
+
+    /**
+     * 得到缓存的容量
+     *
+     * @return 最多缓存的Pattern个数
+     */
+    public int getCapacity() {
+        return patterns.getCapacity();
+    }
+
+    /**
+     * 得到当前缓存的Pattern个数
+     *
+     * @return 缓存的Pattern个数
+     */
+    public int size() {
+        return patterns.size();
+    }
+
+    /**
+     * 清空缓存以及命中统计
+     */
+    public void clear() {
+        patterns.clear();
+    }
+
+    /*
+     * 带有匹配标志的缓存键
+     */
+    private static final class Key {
+        private final String regex;
+        private final int flags;
+
+        Key(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public int hashCode() {
+            return regex.hashCode() * 31 + flags;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return flags == other.flags && regex.equals(other.regex);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package strman;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import org.apache.commons.codec.Charsets;
+
+/**
+ * 把每个字符按固定位数的某种进制编码， 以及反向解码。 <br/>
+ * 编码时按查表得到的数字从低位到高位直接写入预先分配好大小的char[]， 解码时按固定宽度分组并查表得到每一位的值，
+ * 不使用正则表达式， 也不创建子串。 结果与 {@link Integer#toString(int, int)} 加左侧补0、
+ * 以及 {@link Integer#parseInt(String, int)} 加 {@link Character#toChars(int)} 完全一致。
+ */
+final class RadixCodec {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String DIGIT_CHARS = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    /*
+     * 每个数字对应的ASCII字符， 编码结果只包含ASCII字符， 写入byte[]后按ISO-8859-1创建字符串不需要转换
+     */
+    private static final byte[] DIGITS = new byte[DIGIT_CHARS.length()];
+
+    /*
+     * ASCII字符对应的数字， 不是数字的字符为-1
+     */
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+            char c = DIGIT_CHARS.charAt(i);
+            DIGITS[i] = (byte) c;
+            VALUES[c] = (byte) i;
+            VALUES[Character.toUpperCase(c)] = (byte) i;
+        }
+    }
+
+    static final RadixCodec BIN = new RadixCodec(16, 2);
+    static final RadixCodec DEC = new RadixCodec(5, 10);
+    static final RadixCodec HEX = new RadixCodec(4, 16);
+
+    private final int digits;
+    private final int radix;
+
+    /*
+     * 进制为2的幂时每一位的二进制位数， 否则为0
+     */
+    private final int shift;
+
+    /*
+     * 进制为2、 4或16并且位数足够时， 每个字节按下标取出对应的几位数字， 否则为null
+     */
+    private final byte[] byteDigits;
+
+    /*
+     * byteDigits中每个字节的位数
+     */
+    private final int byteWidth;
+
+    /*
+     * 编码一个字符最多需要的位数
+     */
+    private final int maxWidth;
+
+    /*
+     * 解码一组数字可能得到辅助平面字符
+     */
+    private final boolean astral;
+
+    private RadixCodec(final int digits, final int radix) {
+        this.digits = digits;
+        this.radix = radix;
+        this.shift = Integer.bitCount(radix) == 1 ? Integer.numberOfTrailingZeros(radix) : 0;
+        this.maxWidth = Math.max(digits, width(Character.MAX_VALUE));
+        this.astral = Math.pow(radix, digits) > Character.MIN_SUPPLEMENTARY_CODE_POINT;
+        this.byteDigits = shift > 0 && 8 % shift == 0 && digits * shift >= 16 ? byteDigits(shift) : null;
+        this.byteWidth = shift > 0 ? 8 / shift : 0;
+    }
+
+    /*
+     * 0到255每个字节的8 / shift位数字， 依次排列
+     */
+    private static byte[] byteDigits(final int shift) {
+        int width = 8 / shift;
+        int mask = (1 << shift) - 1;
+        byte[] table = new byte[256 * width];
+        for (int b = 0; b < 256; b++) {
+            for (int i = 0; i < width; i++) {
+                table[b * width + i] = DIGITS[(b >>> (8 - (i + 1) * shift)) & mask];
+            }
+        }
+        return table;
+    }
+
+    /*
+     * 进制超出 [2, 36] 时与Integer.toString一样按十进制编码
+     */
+    static RadixCodec encoder(final int digits, int radix) {
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+            radix = 10;
+        }
+        return of(digits, radix);
+    }
+
+    /*
+     * 位数小于1或者进制超出 [2, 36] 时没有对应的解码器， 返回null
+     */
+    static RadixCodec decoder(final int digits, final int radix) {
+        if (digits < 1 || radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+            return null;
+        }
+        return of(digits, radix);
+    }
+
+    private static RadixCodec of(final int digits, final int radix) {
+        if (radix == 2 && digits == 16) {
+            return BIN;
+        }
+        if (radix == 10 && digits == 5) {
+            return DEC;
+        }
+        if (radix == 16 && digits == 4) {
+            return HEX;
+        }
+        return new RadixCodec(digits, radix);
+    }
+
+    /**
+     * 编码字符串中的所有字符
+     *
+     * @param value 输入的字符串
+     * @return 编码后的字符串
+     */
+    String encode(final String value) {
+        int length = value.length();
+        byte[] out = new byte[length * maxWidth];
+        int p = 0;
+        for (int i = 0; i < length; i++) {
+            p = encode(value.charAt(i), out, p);
+        }
+        return new String(out, 0, p, Charsets.ISO_8859_1);
+    }
+
+    /**
+     * 从in中读取字符， 编码后写入out， 只占用固定大小的缓冲区
+     *
+     * @param in  输入
+     * @param out 输出
+     * @throws IOException 读取或写入失败
+     */
+    void encode(final Reader in, final Writer out) throws IOException {
+        char[] buffer = new char[Math.max(1, BUFFER_SIZE / maxWidth)];
+        byte[] encoded = new byte[buffer.length * maxWidth];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            int p = 0;
+            for (int i = 0; i < read; i++) {
+                p = encode(buffer[i], encoded, p);
+            }
+            out.write(new String(encoded, 0, p, Charsets.ISO_8859_1));
+        }
+    }
+
+    /**
+     * 编码字符序列中的所有字符并写入out， 只占用固定大小的缓冲区
+     *
+     * @param value 输入的字符序列
+     * @param out   输出
+     * @throws IOException 写入失败
+     */
+    void encode(final CharSequence value, final Appendable out) throws IOException {
+        int chunk = Math.max(1, BUFFER_SIZE / maxWidth);
+        byte[] encoded = new byte[chunk * maxWidth];
+        char[] chars = new char[encoded.length];
+        int length = value.length();
+        for (int start = 0; start < length; start += chunk) {
+            int end = Math.min(length, start + chunk);
+            int p = 0;
+            for (int i = start; i < end; i++) {
+                p = encode(value.charAt(i), encoded, p);
+            }
+            for (int i = 0; i < p; i++) {
+                chars[i] = (char) encoded[i];
+            }
+            if (out instanceof Writer) {
+                ((Writer) out).write(chars, 0, p);
+            } else if (out instanceof StringBuilder) {
+                ((StringBuilder) out).append(chars, 0, p);
+            } else {
+                out.append(CharBuffer.wrap(chars, 0, p));
+            }
+        }
+    }
+
+    /**
+     * 解码字符串， 每digits个字符为一组， 最后一组可以不足digits个
+     *
+     * @param value 输入的字符串
+     * @return 解码后的字符串
+     * @throws NumberFormatException    某一组不是合法的数字， 或者输入为空
+     * @throws IllegalArgumentException 某一组的值不是合法的码点
+     */
+    String decode(final String value) {
+        int length = value.length();
+        if (length == 0) {
+            // 与按正则表达式分组时一致， 空输入得到一个空的分组
+            Integer.parseInt(value, radix);
+        }
+        int groups = (length + digits - 1) / digits;
+        char[] out = new char[astral ? groups * 2 : groups];
+        int p = 0;
+        for (int start = 0; start < length; start += digits) {
+            p = decode(value, start, Math.min(start + digits, length), out, p);
+        }
+        return new String(out, 0, p);
+    }
+
+    /**
+     * 从in中读取编码后的字符， 解码后写入out， 只占用固定大小的缓冲区
+     *
+     * @param in  输入
+     * @param out 输出
+     * @throws IOException 读取或写入失败
+     */
+    void decode(final Reader in, final Writer out) throws IOException {
+        char[] buffer = new char[Math.max(digits, BUFFER_SIZE - BUFFER_SIZE % digits)];
+        char[] decoded = new char[buffer.length / digits * 2 + 2];
+        int filled = 0;
+        boolean eof = false;
+        while (!eof) {
+            int read = in.read(buffer, filled, buffer.length - filled);
+            if (read < 0) {
+                eof = true;
+            } else {
+                filled += read;
+            }
+            int end = eof ? filled : filled - filled % digits;
+            if (end == 0) {
+                continue;
+            }
+            String sequence = new String(buffer, 0, end);
+            int p = 0;
+            for (int start = 0; start < end; start += digits) {
+                p = decode(sequence, start, Math.min(start + digits, end), decoded, p);
+            }
+            out.write(decoded, 0, p);
+            System.arraycopy(buffer, end, buffer, 0, filled - end);
+            filled -= end;
+        }
+    }
+
+    /*
+     * 把c编码后写入out的p位置， 不足digits位时左侧补0， 返回写入后的位置
+     */
+    private int encode(final char c, final byte[] out, final int p) {
+        if (byteDigits != null) {
+            int width = byteWidth;
+            int i = p;
+            for (int end = p + digits - 2 * width; i < end; i++) {
+                out[i] = (byte) '0';
+            }
+            int high = (c >>> 8) * width;
+            int low = (c & 0xFF) * width;
+            if (width == 2) {
+                // 十六进制逐个赋值， 比循环或者arraycopy快
+                out[i] = byteDigits[high];
+                out[i + 1] = byteDigits[high + 1];
+                out[i + 2] = byteDigits[low];
+                out[i + 3] = byteDigits[low + 1];
+            } else {
+                System.arraycopy(byteDigits, high, out, i, width);
+                System.arraycopy(byteDigits, low, out, i + width, width);
+            }
+            return p + digits;
+        }
+        int width = digits >= maxWidth ? digits : Math.max(digits, width(c));
+        int v = c;
+        if (shift > 0) {
+            int mask = radix - 1;
+            for (int i = p + width - 1; i >= p; i--) {
+                out[i] = DIGITS[v & mask];
+                v >>>= shift;
+            }
+        } else {
+            for (int i = p + width - 1; i >= p; i--) {
+                out[i] = DIGITS[v % radix];
+                v /= radix;
+            }
+        }
+        return p + width;
+    }
+
+    /*
+     * 不补0时v需要的位数
+     */
+    private int width(int v) {
+        int width = 1;
+        while (v >= radix) {
+            v /= radix;
+            width++;
+        }
+        return width;
+    }
+
+    /*
+     * 解码value中[start, end)的一组数字， 写入out的p位置， 返回写入后的位置
+     */
+    private int decode(final String value, final int start, final int end, final char[] out, final int p) {
+        int codePoint = parse(value, start, end);
+        if (codePoint < 0) {
+            // 带符号、 非ASCII数字或者非法的分组交给Integer.parseInt， 保持相同的结果和异常
+            codePoint = Integer.parseInt(value.substring(start, end), radix);
+        }
+        if (codePoint >= 0 && codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            out[p] = (char) codePoint;
+            return p + 1;
+        }
+        return p + Character.toChars(codePoint, out, p);
+    }
+
+    /*
+     * 查表解析一组ASCII数字， 不是合法数字或者超过最大码点时返回-1
+     */
+    private int parse(final String value, final int start, final int end) {
+        long v = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            int d = c < 128 ? VALUES[c] : -1;
+            if (d < 0 || d >= radix) {
+                return -1;
+            }
+            v = v * radix + d;
+            if (v > Character.MAX_CODE_POINT) {
+                return -1;
+            }
+        }
+        return (int) v;
+    }
+}
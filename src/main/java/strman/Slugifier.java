@@ -0,0 +1,226 @@
+package strman;
+
+import java.io.IOException;
+
+/**
+ * 单遍扫描的slug生成器。 <br/>
+ * 小写转换、 音译、 '&amp;' 替换为 "and" 以及分隔符合并都在同一次扫描中完成， 中间不产生任何字符串；
+ * 生成String时使用每个线程复用的缓冲区， 除了结果本身之外没有与输入长度相关的内存分配。 <br/>
+ * 只有 [a-zA-Z0-9_] 会被保留为单词字符， 其余字符都视为分隔符。 实例是不可变的， 可以在多个线程之间共享。
+ */
+public final class Slugifier {
+
+    /*
+     * 线程缓冲区超过该容量时不再保留， 避免偶尔的超长输入长期占用内存
+     */
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private static final boolean[] WORD_CHARS = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            WORD_CHARS[c] = true;
+            WORD_CHARS[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            WORD_CHARS[c] = true;
+        }
+        WORD_CHARS['_'] = true;
+    }
+
+    private static final Slugifier INSTANCE = new Slugifier("-", 0);
+
+    private static final ThreadLocal<Cursor> CURSORS = new ThreadLocal<Cursor>() {
+        @Override
+        protected Cursor initialValue() {
+            return new Cursor();
+        }
+    };
+
+    private final String separator;
+    private final int maxLength;
+    private final Transliterator transliterator;
+
+    /**
+     * 使用内置音译表创建一个Slugifier
+     *
+     * @param separator 单词之间的分隔符
+     * @param maxLength 结果的最大长度， 小于等于0表示不限制
+     */
+    public Slugifier(final String separator, final int maxLength) {
+        this(separator, maxLength, Transliterator.getInstance());
+    }
+
+    /**
+     * 创建一个Slugifier
+     *
+     * @param separator      单词之间的分隔符
+     * @param maxLength      结果的最大长度， 小于等于0表示不限制。 超出时在该长度截断， 并且不会以分隔符结尾
+     * @param transliterator 使用的音译表
+     */
+    public Slugifier(final String separator, final int maxLength, final Transliterator transliterator) {
+        if (separator == null) {
+            throw new IllegalArgumentException("'separator' should be not null.");
+        }
+        if (transliterator == null) {
+            throw new IllegalArgumentException("'transliterator' should be not null.");
+        }
+        this.separator = separator;
+        this.maxLength = maxLength;
+        this.transliterator = transliterator;
+    }
+
+    /**
+     * 得到以 "-" 分隔、 不限制长度的共享实例
+     *
+     * @return 共享的Slugifier
+     */
+    public static Slugifier getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 将字符串转换为slug
+     *
+     * @param value 输入的字符串
+     * @return 转换后的slug
+     */
+    public String slugify(final String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("'value' should be not null.");
+        }
+        Cursor cursor = CURSORS.get();
+        StringBuilder builder = cursor.builder;
+        builder.setLength(0);
+        try {
+            slugify(cursor, value, builder);
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+        String slug = builder.toString();
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            cursor.builder = new StringBuilder(256);
+        }
+        return slug;
+    }
+
+    /**
+     * 将字符序列转换为slug并写入到out中
+     *
+     * @param out   输出的目标
+     * @param value 输入的字符序列
+     * @throws IOException 写入out失败
+     */
+    public void slugifyTo(final Appendable out, final CharSequence value) throws IOException {
+        if (value == null) {
+            throw new IllegalArgumentException("'value' should be not null.");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("'out' should be not null.");
+        }
+        slugify(CURSORS.get(), value, out);
+    }
+
+    private void slugify(final Cursor cursor, final CharSequence value, final Appendable out) throws IOException {
+        LowerCase lower = cursor.lower;
+        lower.value = value;
+        cursor.out = out;
+        cursor.written = 0;
+        cursor.pending = false;
+        try {
+            int length = value.length();
+            int i = 0;
+            while (i < length) {
+                Transliterator.Mapping mapping = transliterator.match(lower, i, length);
+                if (mapping == null) {
+                    if (!emit(cursor, lower.charAt(i))) {
+                        return;
+                    }
+                    i++;
+                    continue;
+                }
+                String to = mapping.to;
+                for (int j = 0; j < to.length(); j++) {
+                    if (!emit(cursor, to.charAt(j))) {
+                        return;
+                    }
+                }
+                i += mapping.from.length();
+            }
+        } finally {
+            lower.value = null;
+            cursor.out = null;
+        }
+    }
+
+    /*
+     * 输出一个字符， 返回false表示已经达到最大长度
+     */
+    private boolean emit(final Cursor cursor, final char c) throws IOException {
+        if (c == '&') {
+            cursor.pending = true;
+            boolean fits = emit(cursor, 'a') && emit(cursor, 'n') && emit(cursor, 'd');
+            cursor.pending = true;
+            return fits;
+        }
+        if (c >= 128 || !WORD_CHARS[c]) {
+            cursor.pending = true;
+            return true;
+        }
+        boolean separate = cursor.pending && cursor.written > 0;
+        int needed = separate ? separator.length() + 1 : 1;
+        if (maxLength > 0 && cursor.written + needed > maxLength) {
+            return false;
+        }
+        if (separate) {
+            cursor.out.append(separator);
+        }
+        cursor.out.append(c);
+        cursor.written += needed;
+        cursor.pending = false;
+        return true;
+    }
+
+    /*
+     * 每个线程复用的状态
+     */
+    private static final class Cursor {
+        private final LowerCase lower = new LowerCase();
+        private StringBuilder builder = new StringBuilder(256);
+        private Appendable out;
+        private int written;
+        private boolean pending;
+    }
+
+    /*
+     * 按字符转换为小写的视图， 不复制原有的字符序列
+     */
+    private static final class LowerCase implements CharSequence {
+        private CharSequence value;
+
+        @Override
+        public int length() {
+            return value.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return Character.toLowerCase(value.charAt(index));
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            StringBuilder builder = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                builder.append(charAt(i));
+            }
+            return builder;
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+}
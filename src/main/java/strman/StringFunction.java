@@ -0,0 +1,16 @@
+package strman;
+
+/**
+ * 把一个字符串转换成另一个字符串， 供 {@link StrmanBatch} 和 {@link StrmanParallel} 对每个元素调用。 <br/>
+ * 并行执行时会在多个线程中同时调用同一个实例， 实现必须是线程安全的。
+ */
+public interface StringFunction {
+
+    /**
+     * 转换一个字符串
+     *
+     * @param value 输入的字符串， 不为null
+     * @return 转换后的字符串
+     */
+    String apply(String value);
+}
@@ -1,10 +1,13 @@
 package strman;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -21,6 +24,16 @@ public abstract class Strman {
 	private static final String NULL_STRING_PREDICATE = null;
 	private static final String NULL_STRING_MSG_SUPPLIER = "'value' should be not null.";
 	
+	/*
+	 * 大小写敏感时， 长度小于该值的子串直接使用String.indexOf， 更长的子串使用Horspool跳转表
+	 */
+	private static final int LONG_NEEDLE_LENGTH = 16;
+	
+	/*
+	 * 平台默认编码为UTF-8时， base64Encode直接对字符做UTF-8编码， 不需要先调用getBytes
+	 */
+	private static final boolean DEFAULT_CHARSET_UTF8 = Charset.forName("UTF-8").equals(Charset.defaultCharset());
+	
 	private Strman(){}
 	
 	 /**
@@ -117,7 +130,33 @@ public abstract class Strman {
      */
     public static String collapseWhitespace(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        return value.trim().replaceAll("\\s\\s+", " ");
+        String trimmed = value.trim();
+        StringBuilder builder = null;
+        int length = trimmed.length();
+        int start = 0;
+        int i = 0;
+        while (i < length) {
+            if (!isWhitespace(trimmed.charAt(i))) {
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && isWhitespace(trimmed.charAt(end))) {
+                end++;
+            }
+            if (end - i > 1) {
+                if (builder == null) {
+                    builder = new StringBuilder(length);
+                }
+                builder.append(trimmed, start, i).append(' ');
+                start = end;
+            }
+            i = end;
+        }
+        if (builder == null) {
+            return trimmed;
+        }
+        return builder.append(trimmed, start, length).toString();
     }
 
 
@@ -144,7 +183,32 @@ public abstract class Strman {
         if (caseSensitive) {
             return value.contains(needle);
         }
-        return value.toLowerCase().contains(needle.toLowerCase());
+        return new SubstringSearcher(needle, true).indexOf(value, 0) > -1;
+    }
+
+    /**
+     * 判断一个字符序列是否包含另外一个字符序列， 大小写不敏感， 直接在字符序列上查找， 不需要先转换为字符串
+     *
+     * @param value  准备查找的字符序列
+     * @param needle 查找的字符序列
+     * @return 查询到返回true 查询不到返回false
+     */
+    public static boolean contains(final CharSequence value, final CharSequence needle) {
+        return contains(value, needle, false);
+    }
+
+    /**
+     * 判断一个字符序列是否包含另外一个字符序列， 第三个参数表示大小写是否敏感
+     *
+     * @param value         准备查找的字符序列
+     * @param needle        查找的字符序列
+     * @param caseSensitive 是否大小写敏感， true敏感， false 不敏感
+     * @return 查询到返回true 查询不到返回false
+     */
+    public static boolean contains(final CharSequence value, final CharSequence needle, final boolean caseSensitive) {
+        validate(value, "'value' should be not null.");
+        validate(needle, "'needle' should be not null.");
+        return new SubstringSearcher(needle, !caseSensitive).indexOf(value, 0) > -1;
     }
 
     /**
@@ -155,12 +219,7 @@ public abstract class Strman {
      * @return 如果都包含返回true 否则 返回 false
      */
     public static boolean containsAll(final String value, final String[] needles) {
-        validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        boolean flag = false;
-        for(String needle : needles){
-        	flag = contains(value, needle, false);
-        }
-        return flag;
+        return containsAll(value, needles, false);
     }
 
     /**
@@ -172,11 +231,31 @@ public abstract class Strman {
      */
     public static boolean containsAll(final String value, final String[] needles, final boolean caseSensitive) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        boolean flag = false;
-        for(String needle : needles){
-        	flag = contains(value, needle, caseSensitive);
-        }
-        return flag;
+        return NeedleMatcher.compile(needles, caseSensitive).containsAll(value);
+    }
+
+    /**
+     * 判断一个字符序列是否包含某字符串数组中的所有元素， 大小写不敏感
+     *
+     * @param value   输入要验证的字符序列
+     * @param needles 输入验证的数组数据
+     * @return 如果都包含返回true 否则 返回 false
+     */
+    public static boolean containsAll(final CharSequence value, final String[] needles) {
+        return containsAll(value, needles, false);
+    }
+
+    /**
+     * 判断一个字符序列是否包含某字符串数组中的所有元素， 第三个参数表示是否大小写敏感
+     *
+     * @param value         输入要验证的字符序列
+     * @param needles       输入验证的数组数据
+     * @param caseSensitive 是否大小写敏感， true敏感， false 不敏感
+     * @return 如果都包含返回true 否则 返回 false
+     */
+    public static boolean containsAll(final CharSequence value, final String[] needles, final boolean caseSensitive) {
+        validate(value, "'value' should be not null.");
+        return NeedleMatcher.compile(needles, caseSensitive).containsAll(value);
     }
 
     /**
@@ -199,11 +278,43 @@ public abstract class Strman {
      */
     public static boolean containsAny(final String value, final String[] needles, final boolean caseSensitive) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        boolean flag = false;
-        for(String needle : needles){
-        	flag = contains(value, needle, caseSensitive);
-        }
-        return flag;
+        return NeedleMatcher.compile(needles, caseSensitive).containsAny(value);
+    }
+
+    /**
+     * 判断一个字符序列是否包含某字符串数组中的任意一个元素， 大小写不敏感
+     *
+     * @param value   输入要验证的字符序列
+     * @param needles 输入验证的数组数据
+     * @return 如果包含任意一个返回true 否则 返回 false
+     */
+    public static boolean containsAny(final CharSequence value, final String[] needles) {
+        return containsAny(value, needles, false);
+    }
+
+    /**
+     * 判断一个字符序列是否包含某字符串数组中的任意一个元素， 第三个参数表示大小写是否敏感
+     *
+     * @param value         输入要验证的字符序列
+     * @param needles       输入验证的数组数据
+     * @param caseSensitive 是否大小写敏感， true敏感， false 不敏感
+     * @return 如果包含任意一个返回true 否则 返回 false
+     */
+    public static boolean containsAny(final CharSequence value, final String[] needles, final boolean caseSensitive) {
+        validate(value, "'value' should be not null.");
+        return NeedleMatcher.compile(needles, caseSensitive).containsAny(value);
+    }
+
+    /**
+     * 将多个要查找的字符串编译为自动机， 之后只需扫描一遍输入就能判断包含其中的哪些字符串。 <br/>
+     * containsAny和containsAll只缓存较小的自动机， 字符串较多时应使用该方法编译一次并重复使用
+     *
+     * @param needles       要查找的字符串
+     * @param caseSensitive 是否大小写敏感， true敏感， false 不敏感
+     * @return 编译后的自动机
+     */
+    public static NeedleMatcher compileNeedles(final String[] needles, final boolean caseSensitive) {
+        return NeedleMatcher.compile(needles, caseSensitive);
     }
 
     /**
@@ -217,6 +328,17 @@ public abstract class Strman {
         return countSubstr(value, subStr, true, false);
     }
 
+    /**
+     * 计算字符序列中子串出现的次数， 区分大小写
+     *
+     * @param value  输入的字符序列
+     * @param subStr 要统计的子串， 为空时返回0
+     * @return 子串出现的次数
+     */
+    public static long countSubstr(final CharSequence value, final CharSequence subStr) {
+        return countSubstr(value, subStr, true, false);
+    }
+
     /**
      *计算字符串的子串出现的次数
 	 *
@@ -228,7 +350,56 @@ public abstract class Strman {
      */
     public static long countSubstr(final String value, final String subStr, final boolean caseSensitive, boolean allowOverlapping) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        return countSubstr(caseSensitive ? value : value.toLowerCase(), caseSensitive ? subStr : subStr.toLowerCase(), allowOverlapping, 0L);
+        validate(subStr, NULL_STRING_PREDICATE, "'subStr' should be not null.");
+        if (caseSensitive && subStr.length() < LONG_NEEDLE_LENGTH) {
+            return countSubstr(value, subStr, allowOverlapping);
+        }
+        return SubstringCounter.count(value, new SubstringSearcher(subStr, !caseSensitive), allowOverlapping);
+    }
+
+    /**
+     * 计算字符序列中子串出现的次数
+     *
+     * @param value            输入的字符序列
+     * @param subStr           要统计的子串， 为空时返回0
+     * @param caseSensitive    是否大小写敏感
+     * @param allowOverlapping 是否统计互相重叠的子串
+     * @return 子串出现的次数
+     */
+    public static long countSubstr(final CharSequence value, final CharSequence subStr, final boolean caseSensitive, final boolean allowOverlapping) {
+        validate(value, "'value' should be not null.");
+        validate(subStr, "'subStr' should be not null.");
+        return SubstringCounter.count(value, new SubstringSearcher(subStr, !caseSensitive), allowOverlapping);
+    }
+
+    /**
+     * 使用共享的ForkJoinPool并行计算字符序列中子串出现的次数， 结果与顺序统计相同。 输入较短时不会并行
+     *
+     * @param value            输入的字符序列
+     * @param subStr           要统计的子串， 为空时返回0
+     * @param caseSensitive    是否大小写敏感
+     * @param allowOverlapping 是否统计互相重叠的子串
+     * @return 子串出现的次数
+     */
+    public static long countSubstrParallel(final CharSequence value, final CharSequence subStr, final boolean caseSensitive, final boolean allowOverlapping) {
+        return countSubstrParallel(value, subStr, caseSensitive, allowOverlapping, SharedPool.POOL);
+    }
+
+    /**
+     * 在指定的ForkJoinPool中并行计算字符序列中子串出现的次数， 结果与顺序统计相同。 输入较短时不会并行
+     *
+     * @param value            输入的字符序列
+     * @param subStr           要统计的子串， 为空时返回0
+     * @param caseSensitive    是否大小写敏感
+     * @param allowOverlapping 是否统计互相重叠的子串
+     * @param pool             执行统计的线程池
+     * @return 子串出现的次数
+     */
+    public static long countSubstrParallel(final CharSequence value, final CharSequence subStr, final boolean caseSensitive, final boolean allowOverlapping, final ForkJoinPool pool) {
+        validate(value, "'value' should be not null.");
+        validate(subStr, "'subStr' should be not null.");
+        validate(pool, "'pool' should be not null.");
+        return SubstringCounter.count(value, new SubstringSearcher(subStr, !caseSensitive), allowOverlapping, pool);
     }
 
     /**
@@ -271,7 +442,84 @@ public abstract class Strman {
         if (caseSensitive) {
             return value.indexOf(search, remainingLength) > -1;
         }
-        return value.toLowerCase().indexOf(search.toLowerCase(), remainingLength) > -1;
+        return new SubstringSearcher(search, true).indexOf(value, remainingLength) > -1;
+    }
+
+    /**
+     * 判断一个字符序列是否以某个字符序列结尾， 大小写敏感
+     *
+     * @param value  输入的字符序列
+     * @param search 要匹配的字符序列
+     * @return 如果是以search结尾返回true 否则返回 false
+     */
+    public static boolean endsWith(final CharSequence value, final CharSequence search) {
+        return endsWith(value, search, true);
+    }
+
+    /**
+     * 判断一个字符序列是否以某个字符序列结尾
+     *
+     * @param value         输入的字符序列
+     * @param search        要匹配的字符序列
+     * @param caseSensitive 是否大小写敏感， true敏感， false 不敏感
+     * @return 如果是以search结尾返回true 否则返回 false
+     */
+    public static boolean endsWith(final CharSequence value, final CharSequence search, final boolean caseSensitive) {
+        validate(value, "'value' should be not null.");
+        return endsWith(value, search, value.length(), caseSensitive);
+    }
+
+    /**
+     * 与 {@link #endsWith(String, String, int, boolean)} 相同， 直接在字符序列上查找
+     *
+     * @param value         输入的字符序列
+     * @param search        搜索的字符序列
+     * @param position      开始搜索的位置
+     * @param caseSensitive 是否大小写敏感， true 敏感， false 不敏感
+     * @return 如果搜索到， 返回true 否则返回 false
+     */
+    public static boolean endsWith(final CharSequence value, final CharSequence search, final int position, final boolean caseSensitive) {
+        validate(value, "'value' should be not null.");
+        validate(search, "'search' should be not null.");
+        return new SubstringSearcher(search, !caseSensitive).indexOf(value, position - search.length()) > -1;
+    }
+
+    /**
+     * 判断一个字符序列是否以某个字符序列开头， 大小写敏感
+     *
+     * @param value  输入的字符序列
+     * @param search 要匹配的字符序列
+     * @return 如果是以search开头返回true 否则返回 false
+     */
+    public static boolean startsWith(final CharSequence value, final CharSequence search) {
+        return startsWith(value, search, 0, true);
+    }
+
+    /**
+     * 判断一个字符序列是否以某个字符序列开头
+     *
+     * @param value         输入的字符序列
+     * @param search        要匹配的字符序列
+     * @param caseSensitive 是否大小写敏感， true敏感， false 不敏感
+     * @return 如果是以search开头返回true 否则返回 false
+     */
+    public static boolean startsWith(final CharSequence value, final CharSequence search, final boolean caseSensitive) {
+        return startsWith(value, search, 0, caseSensitive);
+    }
+
+    /**
+     * 判断一个字符序列从position开始是否为某个字符序列， 与 {@link String#startsWith(String, int)} 的语义相同
+     *
+     * @param value         输入的字符序列
+     * @param search        要匹配的字符序列
+     * @param position      开始匹配的位置
+     * @param caseSensitive 是否大小写敏感， true敏感， false 不敏感
+     * @return 如果匹配返回true 否则返回 false
+     */
+    public static boolean startsWith(final CharSequence value, final CharSequence search, final int position, final boolean caseSensitive) {
+        validate(value, "'value' should be not null.");
+        validate(search, "'search' should be not null.");
+        return new SubstringSearcher(search, !caseSensitive).matchesAt(value, position);
     }
 
     /**
@@ -298,9 +546,7 @@ public abstract class Strman {
         if (caseSensitive) {
             return value.startsWith(prefix) ? value : prefix + value;
         }
-        String _value = value.toLowerCase();
-        String _prefix = prefix.toLowerCase();
-        return _value.startsWith(_prefix) ? value : prefix + value;
+        return new SubstringSearcher(prefix, true).matchesAt(value, 0) ? value : prefix + value;
     }
 
     /**
@@ -322,6 +568,9 @@ public abstract class Strman {
      */
     public static String base64Encode(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        if (DEFAULT_CHARSET_UTF8) {
+            return Base64.encodeBase64StringUtf8(value, true);
+        }
         return Base64.encodeBase64String(value.getBytes());
     }
     
@@ -341,7 +590,21 @@ public abstract class Strman {
      * @return 转码后的字符串数据
      */
     public static String binDecode(final String value) {
-        return decode(value, 16, 2);
+        validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        return RadixCodec.BIN.decode(value);
+    }
+
+    /**
+     * 从in中读取二进制编码（16位）， 转成字符串字符后写入out
+     *
+     * @param in  要转换的二进制编码
+     * @param out 转码后的字符串数据的输出
+     * @throws IOException 读取in或者写入out失败
+     */
+    public static void binDecode(final Reader in, final Writer out) throws IOException {
+        validate(in, "'in' should be not null.");
+        validate(out, "'out' should be not null.");
+        RadixCodec.BIN.decode(in, out);
     }
 
     /**
@@ -351,7 +614,34 @@ public abstract class Strman {
      * @return 转换后的二进制编码
      */
     public static String binEncode(final String value) {
-        return encode(value, 16, 2);
+        validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        return RadixCodec.BIN.encode(value);
+    }
+
+    /**
+     * 将字符串字符转成二进制编码（16位）， 结果直接写入out
+     *
+     * @param out   输出的目标
+     * @param value 要转换的字符序列
+     * @throws IOException 写入out失败
+     */
+    public static void binEncodeTo(final Appendable out, final CharSequence value) throws IOException {
+        validate(out, "'out' should be not null.");
+        validate(value, "'value' should be not null.");
+        RadixCodec.BIN.encode(value, out);
+    }
+
+    /**
+     * 从in中读取字符串字符， 转成二进制编码（16位）后写入out
+     *
+     * @param in  要转换的字符串数据
+     * @param out 转换后的二进制编码的输出
+     * @throws IOException 读取in或者写入out失败
+     */
+    public static void binEncode(final Reader in, final Writer out) throws IOException {
+        validate(in, "'in' should be not null.");
+        validate(out, "'out' should be not null.");
+        RadixCodec.BIN.encode(in, out);
     }
 
     /**
@@ -361,7 +651,21 @@ public abstract class Strman {
      * @return 转换后的字符串数据
      */
     public static String decDecode(final String value) {
-        return decode(value, 5, 10);
+        validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        return RadixCodec.DEC.decode(value);
+    }
+
+    /**
+     * 从in中读取十进制编码（5位）， 转成字符串字符后写入out
+     *
+     * @param in  要转换的十进制编码
+     * @param out 转换后的字符串数据的输出
+     * @throws IOException 读取in或者写入out失败
+     */
+    public static void decDecode(final Reader in, final Writer out) throws IOException {
+        validate(in, "'in' should be not null.");
+        validate(out, "'out' should be not null.");
+        RadixCodec.DEC.decode(in, out);
     }
 
     /**
@@ -371,7 +675,34 @@ public abstract class Strman {
      * @return 转换后的字符串数据
      */
     public static String decEncode(final String value) {
-        return encode(value, 5, 10);
+        validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        return RadixCodec.DEC.encode(value);
+    }
+
+    /**
+     * 将字符串转成十进制编码（5位）， 结果直接写入out
+     *
+     * @param out   输出的目标
+     * @param value 要转换的字符序列
+     * @throws IOException 写入out失败
+     */
+    public static void decEncodeTo(final Appendable out, final CharSequence value) throws IOException {
+        validate(out, "'out' should be not null.");
+        validate(value, "'value' should be not null.");
+        RadixCodec.DEC.encode(value, out);
+    }
+
+    /**
+     * 从in中读取字符串字符， 转成十进制编码（5位）后写入out
+     *
+     * @param in  要进行转换的字符串
+     * @param out 转换后的编码的输出
+     * @throws IOException 读取in或者写入out失败
+     */
+    public static void decEncode(final Reader in, final Writer out) throws IOException {
+        validate(in, "'in' should be not null.");
+        validate(out, "'out' should be not null.");
+        RadixCodec.DEC.encode(in, out);
     }
 
     /**
@@ -429,17 +760,62 @@ public abstract class Strman {
      */
     public static String format(final String value, String... params) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        Pattern p = Pattern.compile("\\{(\\w+)\\}");
-        Matcher m = p.matcher(value);
-        String result = value;
-        while (m.find()) {
-            int paramNumber = Integer.parseInt(m.group(1));
-            if (params == null || paramNumber >= params.length) {
-                throw new IllegalArgumentException("params does not have value for " + m.group());
-            }
-            result = result.replace(m.group(), params[paramNumber]);
+        return FormatTemplate.compile(value).format(params);
+    }
+
+    /**
+     * 创建可以链式调用的字符串处理， 中间步骤不会创建新的字符串
+     *
+     * @param value 初始的字符串
+     * @return 包含value的StrmanBuilder
+     */
+    public static StrmanBuilder builder(final String value) {
+        validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        return new StrmanBuilder(value);
+    }
+
+    /**
+     * 创建批量处理字符串的StrmanBatch， 整批共用编译好的表、 摘要实例和临时缓冲区
+     *
+     * @return 新的StrmanBatch， 不是线程安全的
+     */
+    public static StrmanBatch batch() {
+        return new StrmanBatch();
+    }
+
+    /**
+     * 创建使用共享的ForkJoinPool并行处理字符串的StrmanParallel， 元素个数小于 {@link StrmanParallel#DEFAULT_THRESHOLD} 时不会并行
+     *
+     * @return StrmanParallel
+     */
+    public static StrmanParallel parallel() {
+        return new StrmanParallel(SharedPool.POOL, StrmanParallel.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * 创建在指定的ForkJoinPool中并行处理字符串的StrmanParallel
+     *
+     * @param pool      执行转换的线程池
+     * @param threshold 元素个数不小于该值时才并行执行， 必须大于0
+     * @return StrmanParallel
+     */
+    public static StrmanParallel parallel(final ForkJoinPool pool, final int threshold) {
+        validate(pool, "'pool' should be not null.");
+        if (threshold < 1) {
+            throw new IllegalArgumentException("'threshold' should be greater than 0.");
         }
-        return result;
+        return new StrmanParallel(pool, threshold);
+    }
+
+    /**
+     * 预先解析格式化模板， 之后可以多次使用不同的参数格式化
+     *
+     * @param value 要格式化的字符串， 其中的 {n} 会被第n个参数替换
+     * @return 解析后的模板
+     */
+    public static FormatTemplate compileFormat(final String value) {
+        validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        return FormatTemplate.compile(value);
     }
 
     /**
@@ -449,7 +825,21 @@ public abstract class Strman {
      * @return 转换之后的字符串
      */
     public static String hexDecode(final String value) {
-        return decode(value, 4, 16);
+        validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        return RadixCodec.HEX.decode(value);
+    }
+
+    /**
+     * 从in中读取十六进制编码（4位）， 转成字符串字符后写入out
+     *
+     * @param in  要转换的十六进制编码
+     * @param out 转换后的字符串数据的输出
+     * @throws IOException 读取in或者写入out失败
+     */
+    public static void hexDecode(final Reader in, final Writer out) throws IOException {
+        validate(in, "'in' should be not null.");
+        validate(out, "'out' should be not null.");
+        RadixCodec.HEX.decode(in, out);
     }
 
     /**
@@ -459,7 +849,34 @@ public abstract class Strman {
      * @return 转换后的字符串
      */
     public static String hexEncode(final String value) {
-        return encode(value, 4, 16);
+        validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        return RadixCodec.HEX.encode(value);
+    }
+
+    /**
+     * 将字符串字符转成十六进制编码（4位）， 结果直接写入out
+     *
+     * @param out   输出的目标
+     * @param value 要转换的字符序列
+     * @throws IOException 写入out失败
+     */
+    public static void hexEncodeTo(final Appendable out, final CharSequence value) throws IOException {
+        validate(out, "'out' should be not null.");
+        validate(value, "'value' should be not null.");
+        RadixCodec.HEX.encode(value, out);
+    }
+
+    /**
+     * 从in中读取字符串字符， 转成十六进制编码（4位）后写入out
+     *
+     * @param in  要转化的字符串
+     * @param out 转换后的编码的输出
+     * @throws IOException 读取in或者写入out失败
+     */
+    public static void hexEncode(final Reader in, final Writer out) throws IOException {
+        validate(in, "'in' should be not null.");
+        validate(out, "'out' should be not null.");
+        RadixCodec.HEX.encode(in, out);
     }
 
     /**
@@ -476,7 +893,22 @@ public abstract class Strman {
         if (caseSensitive) {
             return value.indexOf(needle, offset);
         }
-        return value.toLowerCase().indexOf(needle.toLowerCase(), offset);
+        return new SubstringSearcher(needle, true).indexOf(value, offset);
+    }
+
+    /**
+     * 与 {@link #indexOf(String, String, int, boolean)} 相同， 直接在字符序列上查找
+     *
+     * @param value         输入的字符序列
+     * @param needle        要查找的字符序列
+     * @param offset        开始查找的位置
+     * @param caseSensitive 是否大小写敏感， true敏感， false 不敏感
+     * @return 第一次出现的位置， 没有找到时返回-1
+     */
+    public static int indexOf(final CharSequence value, final CharSequence needle, final int offset, final boolean caseSensitive) {
+        validate(value, "'value' should be not null.");
+        validate(needle, "'needle' should be not null.");
+        return new SubstringSearcher(needle, !caseSensitive).indexOf(value, offset);
     }
 
     /**
@@ -539,6 +971,22 @@ public abstract class Strman {
         return true;
     }
 
+    /**
+     * 判断字符序列中是否没有小写字母
+     *
+     * @param value 输入的字符序列
+     * @return 没有小写字母时返回true 否则返回 false
+     */
+    public static boolean isUpperCase(final CharSequence value) {
+        validate(value, "'value' should be not null.");
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isLowerCase(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Verifies if String is lower case
      *
@@ -555,6 +1003,22 @@ public abstract class Strman {
         return true;
     }
 
+    /**
+     * 判断字符序列中是否没有大写字母
+     *
+     * @param value 输入的字符序列
+     * @return 没有大写字母时返回true 否则返回 false
+     */
+    public static boolean isLowerCase(final CharSequence value) {
+        validate(value, "'value' should be not null.");
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isUpperCase(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Return the last n chars of String
      *
@@ -587,6 +1051,23 @@ public abstract class Strman {
         return append(repeat(pad, length - value.length()), value);
     }
 
+    /**
+     * Left pad a CharSequence with a given String and write the result to out.
+     *
+     * @param out    The target to write the padded value to
+     * @param value  The input CharSequence
+     * @param pad    The pad
+     * @param length Length of the String we want
+     * @throws IOException if out can't be written
+     */
+    public static void leftPadTo(final Appendable out, final CharSequence value, final String pad, final int length) throws IOException {
+        validate(out, "'out' should be not null.");
+        validate(value, "'value' should be not null.");
+        validate(pad, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        repeatTo(out, pad, length - value.length());
+        out.append(value);
+    }
+
     /**
      * Checks whether Object is String
      *
@@ -643,7 +1124,46 @@ public abstract class Strman {
         if (caseSensitive) {
             return value.lastIndexOf(needle, offset);
         }
-        return value.toLowerCase().lastIndexOf(needle.toLowerCase(), offset);
+        return new SubstringSearcher(needle, true).lastIndexOf(value, offset);
+    }
+
+    /**
+     * 与 {@link #lastIndexOf(String, String)} 相同， 直接在字符序列上从后向前查找， 大小写敏感
+     *
+     * @param value  输入的字符序列
+     * @param needle 要查找的字符序列
+     * @return 最后一次出现的位置， 没有找到时返回-1
+     */
+    public static int lastIndexOf(final CharSequence value, final CharSequence needle) {
+        return lastIndexOf(value, needle, true);
+    }
+
+    /**
+     * 与 {@link #lastIndexOf(String, String, boolean)} 相同， 直接在字符序列上从后向前查找
+     *
+     * @param value         输入的字符序列
+     * @param needle        要查找的字符序列
+     * @param caseSensitive 是否大小写敏感， true敏感， false 不敏感
+     * @return 最后一次出现的位置， 没有找到时返回-1
+     */
+    public static int lastIndexOf(final CharSequence value, final CharSequence needle, final boolean caseSensitive) {
+        validate(value, "'value' should be not null.");
+        return lastIndexOf(value, needle, value.length(), caseSensitive);
+    }
+
+    /**
+     * 与 {@link #lastIndexOf(String, String, int, boolean)} 相同， 直接在字符序列上从后向前查找
+     *
+     * @param value         输入的字符序列
+     * @param needle        要查找的字符序列
+     * @param offset        开始向前查找的位置
+     * @param caseSensitive 是否大小写敏感， true敏感， false 不敏感
+     * @return 最后一次出现的位置， 没有找到时返回-1
+     */
+    public static int lastIndexOf(final CharSequence value, final CharSequence needle, final int offset, final boolean caseSensitive) {
+        validate(value, "'value' should be not null.");
+        validate(needle, "'needle' should be not null.");
+        return new SubstringSearcher(needle, !caseSensitive).lastIndexOf(value, offset);
     }
 
     /**
@@ -654,7 +1174,11 @@ public abstract class Strman {
      */
     public static String leftTrim(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        return value.replaceAll("^\\s+", "");
+        int start = 0;
+        while (start < value.length() && isWhitespace(value.charAt(start))) {
+            start++;
+        }
+        return value.substring(start);
     }
 
     /**
@@ -742,7 +1266,7 @@ public abstract class Strman {
         if (caseSensitive) {
             return value.startsWith(prefix) ? value.substring(prefix.length()) : value;
         }
-        return value.toLowerCase().startsWith(prefix.toLowerCase()) ? value.substring(prefix.length()) : value;
+        return new SubstringSearcher(prefix, true).matchesAt(value, 0) ? value.substring(prefix.length()) : value;
     }
 
     /**
@@ -753,7 +1277,19 @@ public abstract class Strman {
      */
     public static String removeNonWords(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        return value.replaceAll("[^\\w]+", "");
+        StringBuilder builder = null;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (isWordChar(c)) {
+                if (builder != null) {
+                    builder.append(c);
+                }
+            } else if (builder == null) {
+                builder = new StringBuilder(length).append(value, 0, i);
+            }
+        }
+        return builder == null ? value : builder.toString();
     }
 
     /**
@@ -778,7 +1314,8 @@ public abstract class Strman {
     public static String removeRight(final String value, final String suffix, final boolean caseSensitive) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
         validate(suffix, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        return endsWith(value, suffix, caseSensitive) ? value.substring(0, value.toLowerCase().lastIndexOf(suffix.toLowerCase())) : value;
+        // endsWith成立时suffix只可能出现在末尾
+        return endsWith(value, suffix, caseSensitive) ? value.substring(0, value.length() - suffix.length()) : value;
     }
 
     /**
@@ -789,7 +1326,19 @@ public abstract class Strman {
      */
     public static String removeSpaces(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        return value.replaceAll("\\s", "");
+        StringBuilder builder = null;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!isWhitespace(c)) {
+                if (builder != null) {
+                    builder.append(c);
+                }
+            } else if (builder == null) {
+                builder = new StringBuilder(length).append(value, 0, i);
+            }
+        }
+        return builder == null ? value : builder.toString();
     }
 
     /**
@@ -801,6 +1350,9 @@ public abstract class Strman {
      */
     public static String repeat(final String value, final int multiplier) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        if (multiplier <= 0) {
+            return "";
+        }
         StringBuilder builder = new StringBuilder(value);
         for(int i=1; i<multiplier; i++){
         	builder.append(value);
@@ -808,6 +1360,22 @@ public abstract class Strman {
         return builder.toString();
     }
 
+    /**
+     * Repeats a CharSequence multiplier times and write the result to out.
+     *
+     * @param out        The target to write the repeated value to
+     * @param value      The input CharSequence
+     * @param multiplier Number of repeats
+     * @throws IOException if out can't be written
+     */
+    public static void repeatTo(final Appendable out, final CharSequence value, final int multiplier) throws IOException {
+        validate(out, "'out' should be not null.");
+        validate(value, "'value' should be not null.");
+        for (int i = 0; i < multiplier; i++) {
+            out.append(value);
+        }
+    }
+
     /**
      * Replace all occurrences of 'search' value to 'newvalue'. Uses String replace method.
      *
@@ -823,7 +1391,7 @@ public abstract class Strman {
         if (caseSensitive) {
             return value.replace(search, newValue);
         }
-        return Pattern.compile(search, Pattern.CASE_INSENSITIVE).matcher(value).replaceAll(Matcher.quoteReplacement(newValue));
+        return PatternCache.getInstance().compile(search, Pattern.CASE_INSENSITIVE).matcher(value).replaceAll(Matcher.quoteReplacement(newValue));
     }
 
     /**
@@ -853,6 +1421,23 @@ public abstract class Strman {
         return append(value, repeat(pad, length - value.length()));
     }
 
+    /**
+     * Right pad a CharSequence with a given String and write the result to out.
+     *
+     * @param out    The target to write the padded value to
+     * @param value  The input CharSequence
+     * @param pad    The pad
+     * @param length Length of the String we want
+     * @throws IOException if out can't be written
+     */
+    public static void rightPadTo(final Appendable out, final CharSequence value, final String pad, final int length) throws IOException {
+        validate(out, "'out' should be not null.");
+        validate(value, "'value' should be not null.");
+        validate(pad, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        out.append(value);
+        repeatTo(out, pad, length - value.length());
+    }
+
     /**
      * Remove all spaces on right.
      *
@@ -861,7 +1446,11 @@ public abstract class Strman {
      */
     public static String rightTrim(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        return value.replaceAll("\\s+$", "");
+        int end = value.length();
+        while (end > 0 && isWhitespace(value.charAt(end - 1))) {
+            end--;
+        }
+        return value.substring(0, end);
     }
 
     /**
@@ -904,7 +1493,19 @@ public abstract class Strman {
      */
     public static String[] split(final String value, final String regex) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        return value.split(regex);
+        return PatternCache.getInstance().compile(regex).split(value);
+    }
+
+    /**
+     * 按正则表达式拆分字符序列， 与 {@link #split(String, String)} 相同
+     *
+     * @param value 输入的字符序列
+     * @param regex 分隔的正则表达式
+     * @return 拆分后的字符串数组
+     */
+    public static String[] split(final CharSequence value, final String regex) {
+        validate(value, "'value' should be not null.");
+        return PatternCache.getInstance().compile(regex).split(value);
     }
 
     /**
@@ -915,7 +1516,44 @@ public abstract class Strman {
      */
     public static String[] words(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        return value.split("\\W+");
+        return words((CharSequence) value);
+    }
+
+    /**
+     * 按非单词字符拆分字符序列， 与 {@link #words(String)} 相同
+     *
+     * @param value 输入的字符序列
+     * @return 单词数组
+     */
+    public static String[] words(final CharSequence value) {
+        validate(value, "'value' should be not null.");
+        List<String> words = new ArrayList<String>();
+        int length = value.length();
+        int start = 0;
+        int i = 0;
+        boolean matched = false;
+        while (i < length) {
+            if (isWordChar(value.charAt(i))) {
+                i++;
+                continue;
+            }
+            words.add(value.subSequence(start, i).toString());
+            matched = true;
+            while (i < length && !isWordChar(value.charAt(i))) {
+                i++;
+            }
+            start = i;
+        }
+        if (!matched) {
+            return new String[]{value.toString()};
+        }
+        words.add(value.subSequence(start, length).toString());
+        // 与String.split一致， 去掉末尾的空字符串
+        int size = words.size();
+        while (size > 0 && words.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return words.subList(0, size).toArray(new String[size]);
     }
 
     /**
@@ -945,12 +1583,40 @@ public abstract class Strman {
      */
     public static String htmlDecode(final String encodedHtml) {
         validate(encodedHtml, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        String[] entities = encodedHtml.split("&\\W+;");
-        StringBuilder builder = new StringBuilder("");
-        for(String c : entities){
-        	builder.append(HtmlEntities.decodedEntities.get(c));
+        return HtmlDecoder.decode(encodedHtml);
+    }
+
+    /**
+     * Converts all HTML entities to applicable characters and write the result to out.
+     *
+     * @param out         The target to write the decoded HTML to
+     * @param encodedHtml The encoded HTML
+     * @throws IOException if out can't be written
+     */
+    public static void htmlDecodeTo(final Appendable out, final String encodedHtml) throws IOException {
+        validate(encodedHtml, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        if (out == null) {
+            throw new IllegalArgumentException("'out' should be not null.");
         }
-        return builder.toString();
+        HtmlDecoder.decode(encodedHtml, 0, encodedHtml.length(), true, out);
+    }
+
+    /**
+     * Converts all HTML entities read from in to applicable characters and write them to out.
+     * Only a fixed size buffer is used, so documents of any size can be decoded.
+     *
+     * @param in  The encoded HTML
+     * @param out The target to write the decoded HTML to
+     * @throws IOException if in can't be read or out can't be written
+     */
+    public static void htmlDecode(final Reader in, final Writer out) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("'in' should be not null.");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("'out' should be not null.");
+        }
+        HtmlDecoder.decode(in, out);
     }
 
     /**
@@ -961,12 +1627,22 @@ public abstract class Strman {
      */
     public static String htmlEncode(final String html) {
         validate(html, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        char[] chars = html.toCharArray();
-        StringBuilder builder = new StringBuilder("");
-        for(char c : chars){
-        	builder.append(HtmlEntities.encodedEntities.get("\\u" + String.format("%04x", c).toUpperCase()));
+        return HtmlEncoder.encode(html);
+    }
+
+    /**
+     * Convert all applicable characters to HTML entities and write the result to out.
+     *
+     * @param out  The target to write the encoded data to
+     * @param html The HTML to encode
+     * @throws IOException if out can't be written
+     */
+    public static void htmlEncodeTo(final Appendable out, final String html) throws IOException {
+        validate(html, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        if (out == null) {
+            throw new IllegalArgumentException("'out' should be not null.");
         }
-        return builder.toString();
+        HtmlEncoder.encode(html, out);
     }
 
     /**
@@ -1009,13 +1685,44 @@ public abstract class Strman {
      */
     public static String slugify(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        String transliterated = transliterate(collapseWhitespace(value.trim().toLowerCase()));
-        String[] strs = words(transliterated.replace("&", "-and-"));
-        StringBuilder builder = new StringBuilder("");
-        for(String str : strs){
-        	builder.append(str).append("-");
-        }
-        return builder.deleteCharAt(builder.length()-1).toString();
+        return Slugifier.getInstance().slugify(value);
+    }
+
+    /**
+     * Convert a String to a slug
+     *
+     * @param value     The value to slugify
+     * @param separator The separator placed between words
+     * @param maxLength Max length of the slug, 0 or less means unlimited
+     * @return The slugified value
+     */
+    public static String slugify(final String value, final String separator, final int maxLength) {
+        validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+        return new Slugifier(separator, maxLength).slugify(value);
+    }
+
+    /**
+     * Convert a CharSequence to a slug and write the result to out.
+     *
+     * @param out   The target to write the slug to
+     * @param value The value to slugify
+     * @throws IOException if out can't be written
+     */
+    public static void slugifyTo(final Appendable out, final CharSequence value) throws IOException {
+        Slugifier.getInstance().slugifyTo(out, value);
+    }
+
+    /**
+     * Convert a CharSequence to a slug and write the result to out.
+     *
+     * @param out       The target to write the slug to
+     * @param value     The value to slugify
+     * @param separator The separator placed between words
+     * @param maxLength Max length of the slug, 0 or less means unlimited
+     * @throws IOException if out can't be written
+     */
+    public static void slugifyTo(final Appendable out, final CharSequence value, final String separator, final int maxLength) throws IOException {
+        new Slugifier(separator, maxLength).slugifyTo(out, value);
     }
 
     /**
@@ -1026,14 +1733,18 @@ public abstract class Strman {
      */
     public static String transliterate(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        String result = value;
-        Set<Map.Entry<String, List<String>>> entries = Ascii.ascii.entrySet();
-        for (Map.Entry<String, List<String>> entry : entries) {
-            for (String ch : entry.getValue()) {
-                result = result.replace(ch, entry.getKey());
-            }
-        }
-        return result;
+        return Transliterator.getInstance().transliterate(value);
+    }
+
+    /**
+     * Remove all non valid characters and write the result to out.
+     *
+     * @param out   The target to write the transliterated value to
+     * @param value The input CharSequence
+     * @throws IOException if out can't be written
+     */
+    public static void transliterateTo(final Appendable out, final CharSequence value) throws IOException {
+        Transliterator.getInstance().transliterateTo(out, value);
     }
 
 
@@ -1055,11 +1766,14 @@ public abstract class Strman {
      * Transform to camelCase
      *
      * @param value The input String
-     * @return String in camelCase.
+     * @return String in camelCase, an empty String if value is blank.
      */
     public static String toCamelCase(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
         String str = toStudlyCase(value);
+        if (str.isEmpty()) {
+            return str;
+        }
         return str.substring(0, 1).toLowerCase() + str.substring(1);
     }
 
@@ -1071,12 +1785,24 @@ public abstract class Strman {
      */
     public static String toStudlyCase(final String value) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        String[] words = collapseWhitespace(value.trim()).split("\\s*(_|-|\\s)\\s*");
-        StringBuilder builder = new StringBuilder();
-        for(String w : words){
-        	if(!w.trim().isEmpty()){
-        		builder.append(upperFirst(w));
-        	}
+        String trimmed = value.trim();
+        int length = trimmed.length();
+        StringBuilder builder = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            if (isStudlySeparator(trimmed.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            boolean blank = true;
+            while (i < length && !isStudlySeparator(trimmed.charAt(i))) {
+                blank &= trimmed.charAt(i) <= ' ';
+                i++;
+            }
+            if (!blank) {
+                builder.append(Character.toUpperCase(trimmed.charAt(start))).append(trimmed, start + 1, i);
+            }
         }
         return builder.toString();
     }
@@ -1100,13 +1826,80 @@ public abstract class Strman {
      * @return String decamelized.
      */
     public static String toDecamelize(final String value, final String chr) {
-        String camelCasedString = toCamelCase(value);
-        String[] words = camelCasedString.split("(?=\\p{Upper})");
-        StringBuilder builder = new StringBuilder();
-        for(String w : words){
-        	builder.append(w.toLowerCase()).append(chr);
+        return decamelize(toCamelCase(value), chr);
+    }
+
+    /*
+     * 在camelCase字符串中每个ASCII大写字母前切分单词， 单词之间插入chr， 每个单词整体按String.toLowerCase转换，
+     * 保留希腊字母词尾Σ等依赖上下文的规则
+     */
+    static String decamelize(final String camelCase, final String chr) {
+        int length = camelCase.length();
+        StringBuilder builder = new StringBuilder(length + 8);
+        int start = 0;
+        for (int i = 1; i <= length; i++) {
+            if (i == length || isAsciiUpper(camelCase.charAt(i))) {
+                appendLowerCase(builder, camelCase, start, i);
+                if (i < length) {
+                    builder.append(chr);
+                }
+                start = i;
+            }
         }
-        return builder.deleteCharAt(builder.length()-1).toString();
+        return builder.toString();
+    }
+
+    /**
+     * Decamelize a CharSequence and write the result to out, without building the intermediate camelCase String.
+     *
+     * @param out   The target to write the decamelized value to
+     * @param value The input CharSequence
+     * @param chr   string to use
+     * @throws IOException if out can't be written
+     */
+    public static void toDecamelizeTo(final Appendable out, final CharSequence value, final String chr) throws IOException {
+        validate(out, "'out' should be not null.");
+        validate(value, "'value' should be not null.");
+        validate(chr, "'chr' should be not null.");
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int i = 0;
+        while (i < end && value.charAt(i) <= ' ') {
+            i++;
+        }
+        // 当前单词， 遇到ASCII大写字母时整体转换为小写后写入out
+        StringBuilder word = new StringBuilder();
+        boolean first = true;
+        while (i < end) {
+            if (isStudlySeparator(value.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            boolean blank = true;
+            while (i < end && !isStudlySeparator(value.charAt(i))) {
+                blank &= value.charAt(i) <= ' ';
+                i++;
+            }
+            if (blank) {
+                continue;
+            }
+            // 与toStudlyCase、 toCamelCase和toDecamelize依次处理的结果相同
+            char head = Character.toUpperCase(value.charAt(start));
+            if (first) {
+                // toCamelCase使用String.toLowerCase， 转换结果可能不止一个字符
+                word.append(String.valueOf(head).toLowerCase());
+                first = false;
+            } else {
+                appendDecamelized(out, word, head, chr);
+            }
+            for (int k = start + 1; k < i; k++) {
+                appendDecamelized(out, word, value.charAt(k), chr);
+            }
+        }
+        appendLowerCase(out, word);
     }
 
     /**
@@ -1119,6 +1912,17 @@ public abstract class Strman {
         return toDecamelize(value, "-");
     }
 
+    /**
+     * Transform to kebab-case and write the result to out.
+     *
+     * @param out   The target to write the result to
+     * @param value The input CharSequence
+     * @throws IOException if out can't be written
+     */
+    public static void toKebabCaseTo(final Appendable out, final CharSequence value) throws IOException {
+        toDecamelizeTo(out, value, "-");
+    }
+
     /**
      * Transform to snake_case.
      *
@@ -1129,26 +1933,100 @@ public abstract class Strman {
         return toDecamelize(value, "_");
     }
 
+    /**
+     * Transform to snake_case and write the result to out.
+     *
+     * @param out   The target to write the result to
+     * @param value The input CharSequence
+     * @throws IOException if out can't be written
+     */
+    public static void toSnakeCaseTo(final Appendable out, final CharSequence value) throws IOException {
+        toDecamelizeTo(out, value, "_");
+    }
+
+    /**
+     * 将按固定位数编码的字符串转成字符串字符， 每digits个字符为一组， 表示一个字符的码点
+     *
+     * @param value  要转换的编码
+     * @param digits 每个字符的位数
+     * @param radix  进制
+     * @return 转换后的字符串数据
+     */
     public static String decode(final String value, final int digits, final int radix) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        String[] strs = value.split("(?<=\\G.{" + digits + "})");
-        StringBuilder builder = new StringBuilder();
-        for(String data : strs){
-        	builder.append(String.valueOf(Character.toChars(Integer.parseInt(data, radix))));
+        RadixCodec codec = RadixCodec.decoder(digits, radix);
+        if (codec == null) {
+            String[] strs = value.split("(?<=\\G.{" + digits + "})");
+            StringBuilder builder = new StringBuilder();
+            for(String data : strs){
+            	builder.append(String.valueOf(Character.toChars(Integer.parseInt(data, radix))));
+            }
+            return builder.toString();
         }
-        return builder.toString();
+        return codec.decode(value);
+    }
+
+    /**
+     * 从in中读取按固定位数编码的字符， 转成字符串字符后写入out， 只占用固定大小的缓冲区
+     *
+     * @param in     要转换的编码
+     * @param out    转换后的字符串数据的输出
+     * @param digits 每个字符的位数， 不能小于1
+     * @param radix  进制， 范围为 [2, 36]
+     * @throws IOException 读取in或者写入out失败
+     */
+    public static void decode(final Reader in, final Writer out, final int digits, final int radix) throws IOException {
+        RadixCodec codec = RadixCodec.decoder(digits, radix);
+        if (codec == null) {
+            throw new IllegalArgumentException("'digits' should be positive and 'radix' should be between 2 and 36.");
+        }
+        validate(in, "'in' should be not null.");
+        validate(out, "'out' should be not null.");
+        codec.decode(in, out);
     }
 
+    /**
+     * 将字符串字符按固定位数编码， 不足digits位时左侧补0
+     *
+     * @param value  要转换的字符串数据
+     * @param digits 每个字符的位数
+     * @param radix  进制
+     * @return 转换后的编码
+     */
     public static String encode(final String value, final int digits, final int radix) {
         validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-        char[] chars = value.toCharArray();
-        StringBuilder builder = new StringBuilder();
-        for(char ch : chars){
-        	builder.append(leftPad(Integer.toString(ch, radix), "0", digits));
-        }
-        return builder.toString();
+        return RadixCodec.encoder(digits, radix).encode(value);
+    }
+
+    /**
+     * 将字符串字符按固定位数编码， 结果直接写入out
+     *
+     * @param out    输出的目标
+     * @param value  要转换的字符序列
+     * @param digits 每个字符的位数
+     * @param radix  进制
+     * @throws IOException 写入out失败
+     */
+    public static void encodeTo(final Appendable out, final CharSequence value, final int digits, final int radix) throws IOException {
+        validate(out, "'out' should be not null.");
+        validate(value, "'value' should be not null.");
+        RadixCodec.encoder(digits, radix).encode(value, out);
     }
 
+    /**
+     * 从in中读取字符， 按固定位数编码后写入out， 只占用固定大小的缓冲区
+     *
+     * @param in     要转换的字符串数据
+     * @param out    转换后的编码的输出
+     * @param digits 每个字符的位数
+     * @param radix  进制
+     * @throws IOException 读取in或者写入out失败
+     */
+    public static void encode(final Reader in, final Writer out, final int digits, final int radix) throws IOException {
+        validate(in, "'in' should be not null.");
+        validate(out, "'out' should be not null.");
+        RadixCodec.encoder(digits, radix).encode(in, out);
+    }
 
     /**
      * Join concatenates all the elements of the strings array into a single String. The separator string is placed between elements in the resulting string.
@@ -1243,6 +2121,32 @@ public abstract class Strman {
         return input.startsWith(leftEncloser) && input.endsWith(rightEncloser);
     }
 
+    /**
+     * 判断字符序列是否以encloser开头并且以encloser结尾
+     *
+     * @param input    输入的字符序列
+     * @param encloser 开头和结尾的字符序列
+     * @return 是返回true 否则返回 false
+     */
+    public static boolean isEnclosedBetween(final CharSequence input, final CharSequence encloser) {
+        return isEnclosedBetween(input, encloser, encloser);
+    }
+
+    /**
+     * 判断字符序列是否以leftEncloser开头并且以rightEncloser结尾
+     *
+     * @param input         输入的字符序列
+     * @param leftEncloser  开头的字符序列
+     * @param rightEncloser 结尾的字符序列
+     * @return 是返回true 否则返回 false
+     */
+    public static boolean isEnclosedBetween(final CharSequence input, final CharSequence leftEncloser, final CharSequence rightEncloser) {
+        validate(input, "input can't be null");
+        validate(leftEncloser, "leftEncloser can't be null");
+        validate(rightEncloser, "rightEncloser can't be null");
+        return startsWith(input, leftEncloser) && endsWith(input, rightEncloser);
+    }
+
     /**
      * Converts the first character of string to upper case.
      *
@@ -1253,6 +2157,9 @@ public abstract class Strman {
         if (input == null) {
             throw new IllegalArgumentException("input can't be null");
         }
+        if (input.length() == 0) {
+            return "";
+        }
         char[] chars = input.toCharArray();
         chars[0] = Character.toUpperCase(chars[0]);
         return String.valueOf(chars);
@@ -1280,7 +2187,7 @@ public abstract class Strman {
      */
     public static String trimStart(final String input, String... chars) {
     	validate(input, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-    	return !input.isEmpty() ? input.replaceAll(String.format("^[%s]+", join(chars, "\\")), "") : input;
+    	return !input.isEmpty() ? PatternCache.getInstance().compile(String.format("^[%s]+", join(chars, "\\"))).matcher(input).replaceAll("") : input;
     }
 
     /**
@@ -1305,7 +2212,7 @@ public abstract class Strman {
      */
     public static String trimEnd(final String input, String... chars) {
     	validate(input, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-    	return !input.isEmpty() ? input.replaceAll(String.format("[%s]+$", join(chars, "\\")), input) : input;
+    	return !input.isEmpty() ? PatternCache.getInstance().compile(String.format("[%s]+$", join(chars, "\\"))).matcher(input).replaceAll(input) : input;
     }
 
     /*
@@ -1318,20 +2225,106 @@ public abstract class Strman {
     }
 
     /*
-     * 
+     * 与正则表达式中的 \s 相同： [ \t\n\x0B\f\r]
      */
-    private static long countSubstr(String value, String subStr, boolean allowOverlapping, long count) {
-        int position = value.indexOf(subStr);
-        if (position == -1) {
-            return count;
+    static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /*
+     * 与正则表达式中的 \w 相同： [a-zA-Z_0-9]
+     */
+    static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /*
+     * toStudlyCase的单词分隔符： 空白、 '_' 和 '-'
+     */
+    private static boolean isStudlySeparator(char c) {
+        return c == '_' || c == '-' || isWhitespace(c);
+    }
+
+    /*
+     * 把camelCase中的一个字符加入当前单词， ASCII大写字母开始新的单词
+     */
+    private static void appendDecamelized(final Appendable out, final StringBuilder word, final char c, final String chr) throws IOException {
+        if (isAsciiUpper(c)) {
+            appendLowerCase(out, word);
+            out.append(chr);
+            word.setLength(0);
         }
-        int offset;
-        if (!allowOverlapping) {
-            offset = position + subStr.length();
-        } else {
-            offset = position + 1;
+        word.append(c);
+    }
+
+    private static boolean isAsciiUpper(final char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    /*
+     * 把word整体转换为小写后写入out
+     */
+    private static void appendLowerCase(final Appendable out, final StringBuilder word) throws IOException {
+        int length = word.length();
+        for (int i = 0; i < length; i++) {
+            if (word.charAt(i) >= 0x80) {
+                out.append(word.toString().toLowerCase());
+                return;
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (isAsciiUpper(c)) {
+                word.setCharAt(i, (char) (c + ('a' - 'A')));
+            }
+        }
+        out.append(word);
+    }
+
+    /*
+     * 把value中[start, end)的单词整体转换为小写后写入out， 只包含ASCII字符时逐个转换， 否则使用String.toLowerCase
+     */
+    private static void appendLowerCase(final StringBuilder out, final String value, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) >= 0x80) {
+                out.append(value.substring(start, end).toLowerCase());
+                return;
+            }
+        }
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            out.append(isAsciiUpper(c) ? (char) (c + ('a' - 'A')) : c);
+        }
+    }
+
+    /*
+     * 逐个位置查找， 不复制字符串
+     */
+    private static long countSubstr(String value, String subStr, boolean allowOverlapping) {
+        if (subStr.isEmpty()) {
+            return 0;
+        }
+        int step = allowOverlapping ? 1 : subStr.length();
+        long count = 0;
+        for (int position = value.indexOf(subStr); position != -1; position = value.indexOf(subStr, position + step)) {
+            count++;
+        }
+        return count;
+    }
+
+    /*
+     * 验证参数是否为Null
+     */
+    static void validate(Object value, final String supplier) {
+        if (value == null) {
+            throw new IllegalArgumentException(supplier);
         }
-        return countSubstr(value.substring(offset), subStr, allowOverlapping, ++count);
     }
 
+    /*
+     * 并行方法默认使用的线程池， 第一次使用时才创建
+     */
+    private static final class SharedPool {
+        private static final ForkJoinPool POOL = new ForkJoinPool();
+    }
 }
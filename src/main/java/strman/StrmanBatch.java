@@ -0,0 +1,377 @@
+package strman;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.codec.Charsets;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.binary.StringUtils;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * 对一批字符串执行同一个转换， 由 {@link Strman#batch()} 创建。 <br/>
+ * 每个元素的结果与 {@link Strman} 中的同名方法相同。 编译好的表、 摘要实例以及临时缓冲区在整批中只准备一次，
+ * 每处理完一批都会记录元素个数、 输入的字符数以及耗时， 可以通过 {@link #getLastCount()} 等方法得到。 <br/>
+ * 实例持有临时缓冲区， 不是线程安全的， 每个线程应使用自己的实例。
+ */
+public final class StrmanBatch {
+
+    /*
+     * 临时缓冲区超过该容量时不再保留
+     */
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private StringBuilder scratch = new StringBuilder(256);
+    private MessageDigest md5;
+    private final byte[] hex = new byte[32];
+
+    private int lastCount;
+    private long lastChars;
+    private long lastNanos;
+
+    StrmanBatch() {
+    }
+
+    /**
+     * 对in中的每个字符串调用function， 结果依次写入out
+     *
+     * @param function 对每个元素的转换
+     * @param in       输入的字符串
+     * @param out      输出， 长度不能小于in
+     */
+    public void apply(final StringFunction function, final String[] in, final String[] out) {
+        Strman.validate(function, "'function' should be not null.");
+        run(of(function), in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用function
+     *
+     * @param function 对每个元素的转换
+     * @param in       输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> apply(final StringFunction function, final List<String> in) {
+        Strman.validate(function, "'function' should be not null.");
+        return run(of(function), in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#slugify(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void slugify(final String[] in, final String[] out) {
+        run(SLUGIFY, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#slugify(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> slugify(final List<String> in) {
+        return run(SLUGIFY, in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#transliterate(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void transliterate(final String[] in, final String[] out) {
+        run(TRANSLITERATE, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#transliterate(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> transliterate(final List<String> in) {
+        return run(TRANSLITERATE, in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#toKebabCase(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void toKebabCase(final String[] in, final String[] out) {
+        run(KEBAB_CASE, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#toKebabCase(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> toKebabCase(final List<String> in) {
+        return run(KEBAB_CASE, in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#toSnakeCase(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void toSnakeCase(final String[] in, final String[] out) {
+        run(SNAKE_CASE, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#toSnakeCase(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> toSnakeCase(final List<String> in) {
+        return run(SNAKE_CASE, in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#htmlEncode(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void htmlEncode(final String[] in, final String[] out) {
+        run(HTML_ENCODE, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#htmlEncode(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> htmlEncode(final List<String> in) {
+        return run(HTML_ENCODE, in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#MD5(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void md5(final String[] in, final String[] out) {
+        run(MD5, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#MD5(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> md5(final List<String> in) {
+        return run(MD5, in);
+    }
+
+    /**
+     * 最近一批处理的元素个数
+     */
+    public int getLastCount() {
+        return lastCount;
+    }
+
+    /**
+     * 最近一批所有输入字符串的字符数之和
+     */
+    public long getLastChars() {
+        return lastChars;
+    }
+
+    /**
+     * 最近一批的耗时， 单位为纳秒
+     */
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    /**
+     * 最近一批每秒处理的元素个数， 没有处理过时为0
+     */
+    public double getLastItemsPerSecond() {
+        return lastNanos == 0 ? 0 : lastCount * 1e9 / lastNanos;
+    }
+
+    /**
+     * 最近一批每秒处理的输入字符数， 没有处理过时为0
+     */
+    public double getLastCharsPerSecond() {
+        return lastNanos == 0 ? 0 : lastChars * 1e9 / lastNanos;
+    }
+
+    private void run(final Transform transform, final String[] in, final String[] out) {
+        Strman.validate(in, "'in' should be not null.");
+        Strman.validate(out, "'out' should be not null.");
+        if (out.length < in.length) {
+            throw new IllegalArgumentException("'out' should be not shorter than 'in'.");
+        }
+        long start = System.nanoTime();
+        long chars = 0;
+        try {
+            chars = run(transform, in, 0, in.length, out);
+        } finally {
+            finish(in.length, chars, start);
+        }
+    }
+
+    /*
+     * 转换in中[from, to)的元素并写入out的相同位置， 返回输入的字符数， 不记录耗时
+     */
+    long run(final Transform transform, final String[] in, final int from, final int to, final String[] out) {
+        long chars = 0;
+        try {
+            for (int i = from; i < to; i++) {
+                String value = in[i];
+                Strman.validate(value, "'value' should be not null.");
+                out[i] = transform.apply(this, value);
+                chars += value.length();
+            }
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+        return chars;
+    }
+
+    private List<String> run(final Transform transform, final List<String> in) {
+        Strman.validate(in, "'in' should be not null.");
+        List<String> out = new ArrayList<String>(in.size());
+        long start = System.nanoTime();
+        long chars = 0;
+        try {
+            for (String value : in) {
+                Strman.validate(value, "'value' should be not null.");
+                out.add(transform.apply(this, value));
+                chars += value.length();
+            }
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        } finally {
+            finish(out.size(), chars, start);
+        }
+        return out;
+    }
+
+    private void finish(final int count, final long chars, final long start) {
+        lastNanos = System.nanoTime() - start;
+        lastCount = count;
+        lastChars = chars;
+        trimScratch();
+    }
+
+    /*
+     * 临时缓冲区过大时丢弃， 避免长期持有的实例占用内存
+     */
+    void trimScratch() {
+        if (scratch.capacity() > MAX_RETAINED_CAPACITY) {
+            scratch = new StringBuilder(256);
+        }
+    }
+
+    /*
+     * 清空并返回临时缓冲区
+     */
+    private StringBuilder scratch() {
+        scratch.setLength(0);
+        return scratch;
+    }
+
+    /*
+     * 整批共用一个摘要实例， 第一次需要时才创建
+     */
+    private MessageDigest md5() {
+        if (md5 == null) {
+            md5 = DigestUtils.getDigest("MD5");
+        }
+        return md5;
+    }
+
+    /*
+     * 对一个元素的转换， 可以使用batch中的临时缓冲区
+     */
+    abstract static class Transform {
+        abstract String apply(StrmanBatch batch, String value) throws IOException;
+    }
+
+    /*
+     * 不使用临时缓冲区的转换
+     */
+    static Transform of(final StringFunction function) {
+        return new Transform() {
+            @Override
+            String apply(StrmanBatch batch, String value) {
+                return function.apply(value);
+            }
+        };
+    }
+
+    static final Transform SLUGIFY = new Transform() {
+        @Override
+        String apply(StrmanBatch batch, String value) throws IOException {
+            StringBuilder out = batch.scratch();
+            Slugifier.getInstance().slugifyTo(out, value);
+            return out.toString();
+        }
+    };
+
+    static final Transform TRANSLITERATE = new Transform() {
+        @Override
+        String apply(StrmanBatch batch, String value) {
+            return Transliterator.getInstance().transliterate(value);
+        }
+    };
+
+    static final Transform KEBAB_CASE = new Transform() {
+        @Override
+        String apply(StrmanBatch batch, String value) throws IOException {
+            return decamelize(batch, value, "-");
+        }
+    };
+
+    static final Transform SNAKE_CASE = new Transform() {
+        @Override
+        String apply(StrmanBatch batch, String value) throws IOException {
+            return decamelize(batch, value, "_");
+        }
+    };
+
+    static final Transform HTML_ENCODE = new Transform() {
+        @Override
+        String apply(StrmanBatch batch, String value) {
+            return HtmlEncoder.encode(value);
+        }
+    };
+
+    static final Transform MD5 = new Transform() {
+        @Override
+        String apply(StrmanBatch batch, String value) {
+            byte[] digest = batch.md5().digest(StringUtils.getBytes(value, Charsets.UTF_8));
+            Hex.encodeHex(digest, 0, digest.length, batch.hex, 0, true);
+            return new String(batch.hex, 0, batch.hex.length, Charsets.ISO_8859_1);
+        }
+    };
+
+    /*
+     * 与Strman.toDecamelize相同， 不创建中间的camelCase字符串
+     */
+    private static String decamelize(final StrmanBatch batch, final String value, final String chr) throws IOException {
+        StringBuilder out = batch.scratch();
+        Strman.toDecamelizeTo(out, value, chr);
+        return out.toString();
+    }
+}
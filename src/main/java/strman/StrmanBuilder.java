@@ -0,0 +1,641 @@
+package strman;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 可以链式调用的字符串处理， 由 {@link Strman#builder(String)} 创建。 <br/>
+ * 所有操作都在同一个可增长的char[]中完成， 结果与 {@link Strman} 中的同名方法相同，
+ * 但是中间步骤不会创建新的字符串， 只有调用 {@link #toString()} 时才复制一次。
+ * 例如 <code>Strman.builder(s).collapseWhitespace().removeLeft("x").ensureRight("/").toString()</code>。 <br/>
+ * 实例不是线程安全的。
+ */
+public final class StrmanBuilder implements CharSequence {
+
+    private char[] value;
+    private int count;
+
+    StrmanBuilder(final String value) {
+        this.count = value.length();
+        this.value = new char[count + 16];
+        value.getChars(0, count, this.value, 0);
+    }
+
+    /**
+     * 在末尾追加任意个数的字符串， 与 {@link Strman#append(String, String...)} 相同
+     *
+     * @param appends 追加的字符串
+     * @return 当前实例
+     */
+    public StrmanBuilder append(final String... appends) {
+        if (appends != null) {
+            for (String append : appends) {
+                splice(count, count, String.valueOf(append));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 在开头插入任意个数的字符串， 与 {@link Strman#prepend(String, String...)} 相同
+     *
+     * @param prepends 插入的字符串
+     * @return 当前实例
+     */
+    public StrmanBuilder prepend(final String... prepends) {
+        if (prepends != null) {
+            for (int i = prepends.length - 1; i >= 0; i--) {
+                splice(0, 0, String.valueOf(prepends[i]));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 去掉首尾的空白， 并把中间连续的多个空白替换为一个空格， 与 {@link Strman#collapseWhitespace(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder collapseWhitespace() {
+        trim();
+        int w = 0;
+        int i = 0;
+        while (i < count) {
+            char c = value[i];
+            if (!Strman.isWhitespace(c)) {
+                value[w++] = c;
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < count && Strman.isWhitespace(value[end])) {
+                end++;
+            }
+            value[w++] = end - i > 1 ? ' ' : c;
+            i = end;
+        }
+        count = w;
+        return this;
+    }
+
+    /**
+     * 不是以prefix开头时在开头插入prefix， 与 {@link Strman#ensureLeft(String, String)} 相同
+     *
+     * @param prefix 要在开头匹配的字符串
+     * @return 当前实例
+     */
+    public StrmanBuilder ensureLeft(final String prefix) {
+        return ensureLeft(prefix, true);
+    }
+
+    /**
+     * 不是以prefix开头时在开头插入prefix， 与 {@link Strman#ensureLeft(String, String, boolean)} 相同
+     *
+     * @param prefix        要在开头匹配的字符串
+     * @param caseSensitive 是否大小写敏感
+     * @return 当前实例
+     */
+    public StrmanBuilder ensureLeft(final String prefix, final boolean caseSensitive) {
+        Strman.validate(prefix, "'prefix' should be not null.");
+        if (!regionMatches(0, prefix, caseSensitive)) {
+            splice(0, 0, prefix);
+        }
+        return this;
+    }
+
+    /**
+     * 不是以suffix结尾时在末尾追加suffix， 与 {@link Strman#ensureRight(String, String)} 相同
+     *
+     * @param suffix 要在末尾匹配的字符串
+     * @return 当前实例
+     */
+    public StrmanBuilder ensureRight(final String suffix) {
+        return ensureRight(suffix, true);
+    }
+
+    /**
+     * 不是以suffix结尾时在末尾追加suffix， 与 {@link Strman#ensureRight(String, String, boolean)} 相同
+     *
+     * @param suffix        要在末尾匹配的字符串
+     * @param caseSensitive 是否大小写敏感
+     * @return 当前实例
+     */
+    public StrmanBuilder ensureRight(final String suffix, final boolean caseSensitive) {
+        Strman.validate(suffix, "'suffix' should be not null.");
+        if (!regionMatches(count - suffix.length(), suffix, caseSensitive)) {
+            splice(count, count, suffix);
+        }
+        return this;
+    }
+
+    /**
+     * 去掉开头的空白， 与 {@link Strman#leftTrim(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder leftTrim() {
+        int start = 0;
+        while (start < count && Strman.isWhitespace(value[start])) {
+            start++;
+        }
+        splice(0, start, "");
+        return this;
+    }
+
+    /**
+     * 去掉末尾的空白， 与 {@link Strman#rightTrim(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder rightTrim() {
+        while (count > 0 && Strman.isWhitespace(value[count - 1])) {
+            count--;
+        }
+        return this;
+    }
+
+    /**
+     * 长度不足length时在开头重复插入pad， 与 {@link Strman#leftPad(String, String, int)} 相同
+     *
+     * @param pad    填充的字符串
+     * @param length 填充后的长度
+     * @return 当前实例
+     */
+    public StrmanBuilder leftPad(final String pad, final int length) {
+        Strman.validate(pad, "'pad' should be not null.");
+        if (count < length) {
+            int times = length - count;
+            int padLength = pad.length();
+            splice(0, 0, times, padLength);
+            for (int i = 0; i < times; i++) {
+                pad.getChars(0, padLength, value, i * padLength);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 长度不足length时在末尾重复追加pad， 与 {@link Strman#rightPad(String, String, int)} 相同
+     *
+     * @param pad    填充的字符串
+     * @param length 填充后的长度
+     * @return 当前实例
+     */
+    public StrmanBuilder rightPad(final String pad, final int length) {
+        Strman.validate(pad, "'pad' should be not null.");
+        if (count < length) {
+            int times = length - count;
+            int padLength = pad.length();
+            int start = count;
+            splice(count, count, times, padLength);
+            for (int i = 0; i < times; i++) {
+                pad.getChars(0, padLength, value, start + i * padLength);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 第一个字符转换为大写， 其余的字符转换为小写， 与 {@link Strman#capitalize(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder capitalize() {
+        for (int i = 1; i < count; i++) {
+            value[i] = Character.toLowerCase(value[i]);
+        }
+        return upperFirst();
+    }
+
+    /**
+     * 第一个字符转换为小写， 与 {@link Strman#lowerFirst(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder lowerFirst() {
+        if (count > 0) {
+            value[0] = Character.toLowerCase(value[0]);
+        }
+        return this;
+    }
+
+    /**
+     * 第一个字符转换为大写， 与 {@link Strman#upperFirst(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder upperFirst() {
+        if (count > 0) {
+            value[0] = Character.toUpperCase(value[0]);
+        }
+        return this;
+    }
+
+    /**
+     * 转换为camelCase， 与 {@link Strman#toCamelCase(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder toCamelCase() {
+        toStudlyCase();
+        if (count > 0) {
+            // 与Strman.toCamelCase一样使用String.toLowerCase， 例如 'İ' 会变成两个字符
+            String head = String.valueOf(value[0]).toLowerCase();
+            if (head.length() == 1) {
+                value[0] = head.charAt(0);
+            } else {
+                splice(0, 1, head);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 转换为StudlyCase， 与 {@link Strman#toStudlyCase(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder toStudlyCase() {
+        trim();
+        int w = 0;
+        int i = 0;
+        while (i < count) {
+            if (isStudlySeparator(value[i])) {
+                i++;
+                continue;
+            }
+            int start = i;
+            boolean blank = true;
+            while (i < count && !isStudlySeparator(value[i])) {
+                blank &= value[i] <= ' ';
+                i++;
+            }
+            if (!blank) {
+                value[w++] = Character.toUpperCase(value[start]);
+                System.arraycopy(value, start + 1, value, w, i - start - 1);
+                w += i - start - 1;
+            }
+        }
+        count = w;
+        return this;
+    }
+
+    /**
+     * 转换为camelCase之后， 在每个大写字母前插入chr并转换为小写， 与 {@link Strman#toDecamelize(String, String)} 相同
+     *
+     * @param chr 分隔符
+     * @return 当前实例
+     */
+    public StrmanBuilder toDecamelize(final String chr) {
+        Strman.validate(chr, "'chr' should be not null.");
+        toCamelCase();
+        int uppers = 0;
+        for (int i = 0; i < count; i++) {
+            if (value[i] >= 0x80) {
+                // 非ASCII的单词需要整体按String.toLowerCase转换， 例如词尾的Σ转换为ς
+                String decamelized = Strman.decamelize(new String(value, 0, count), chr);
+                count = 0;
+                splice(0, 0, decamelized);
+                return this;
+            }
+            if (i > 0 && value[i] >= 'A' && value[i] <= 'Z') {
+                uppers++;
+            }
+        }
+        int separatorLength = chr.length();
+        int length = count + uppers * separatorLength;
+        ensureCapacity(length);
+        // 从后向前写入， 不需要额外的缓冲区
+        int w = length;
+        for (int i = count - 1; i >= 0; i--) {
+            char c = value[i];
+            if (c >= 'A' && c <= 'Z') {
+                value[--w] = (char) (c + ('a' - 'A'));
+                if (i > 0) {
+                    w -= separatorLength;
+                    chr.getChars(0, separatorLength, value, w);
+                }
+            } else {
+                value[--w] = c;
+            }
+        }
+        count = length;
+        return this;
+    }
+
+    /**
+     * 转换为kebab-case， 与 {@link Strman#toKebabCase(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder toKebabCase() {
+        return toDecamelize("-");
+    }
+
+    /**
+     * 转换为snake_case， 与 {@link Strman#toSnakeCase(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder toSnakeCase() {
+        return toDecamelize("_");
+    }
+
+    /**
+     * 替换所有的search， 与 {@link Strman#replace(String, String, String, boolean)} 相同
+     *
+     * @param search        要查找的字符串， 大小写不敏感时作为正则表达式
+     * @param newValue      替换的字符串
+     * @param caseSensitive 是否大小写敏感
+     * @return 当前实例
+     */
+    public StrmanBuilder replace(final String search, final String newValue, final boolean caseSensitive) {
+        Strman.validate(search, "'search' should be not null.");
+        Strman.validate(newValue, "'newValue' should be not null.");
+        if (!caseSensitive) {
+            Pattern pattern = PatternCache.getInstance().compile(search, Pattern.CASE_INSENSITIVE);
+            String replaced = pattern.matcher(this).replaceAll(Matcher.quoteReplacement(newValue));
+            count = 0;
+            splice(0, 0, replaced);
+            return this;
+        }
+        int m = search.length();
+        int n = newValue.length();
+        if (m == 0) {
+            // 与String.replace相同， 在每个字符前以及末尾插入
+            int length = count + (count + 1) * n;
+            ensureCapacity(length);
+            int w = length;
+            for (int i = count; i >= 0; i--) {
+                w -= n;
+                newValue.getChars(0, n, value, w);
+                if (i > 0) {
+                    value[--w] = value[i - 1];
+                }
+            }
+            count = length;
+            return this;
+        }
+        SubstringSearcher searcher = new SubstringSearcher(search, false);
+        int p = searcher.indexOf(this, 0);
+        if (p < 0) {
+            return this;
+        }
+        if (n <= m) {
+            // 结果不会变长， 直接向前覆盖
+            int w = p;
+            int from = p;
+            while (p >= 0) {
+                System.arraycopy(value, from, value, w, p - from);
+                w += p - from;
+                newValue.getChars(0, n, value, w);
+                w += n;
+                from = p + m;
+                p = searcher.indexOf(this, from);
+            }
+            System.arraycopy(value, from, value, w, count - from);
+            count = w + count - from;
+            return this;
+        }
+        char[] replaced = new char[count + 16];
+        int w = 0;
+        int from = 0;
+        while (p >= 0) {
+            int length = w + (p - from) + n;
+            if (length > replaced.length) {
+                replaced = Arrays.copyOf(replaced, Math.max(length, replaced.length * 2));
+            }
+            System.arraycopy(value, from, replaced, w, p - from);
+            w += p - from;
+            newValue.getChars(0, n, replaced, w);
+            w += n;
+            from = p + m;
+            p = searcher.indexOf(this, from);
+        }
+        int length = w + count - from;
+        if (length > replaced.length) {
+            replaced = Arrays.copyOf(replaced, length);
+        }
+        System.arraycopy(value, from, replaced, w, count - from);
+        value = replaced;
+        count = length;
+        return this;
+    }
+
+    /**
+     * 以prefix开头时去掉开头的prefix， 与 {@link Strman#removeLeft(String, String)} 相同
+     *
+     * @param prefix 要去掉的字符串
+     * @return 当前实例
+     */
+    public StrmanBuilder removeLeft(final String prefix) {
+        return removeLeft(prefix, true);
+    }
+
+    /**
+     * 以prefix开头时去掉开头的prefix， 与 {@link Strman#removeLeft(String, String, boolean)} 相同
+     *
+     * @param prefix        要去掉的字符串
+     * @param caseSensitive 是否大小写敏感
+     * @return 当前实例
+     */
+    public StrmanBuilder removeLeft(final String prefix, final boolean caseSensitive) {
+        Strman.validate(prefix, "'prefix' should be not null.");
+        if (regionMatches(0, prefix, caseSensitive)) {
+            splice(0, prefix.length(), "");
+        }
+        return this;
+    }
+
+    /**
+     * 以suffix结尾时去掉末尾的suffix， 与 {@link Strman#removeRight(String, String)} 相同
+     *
+     * @param suffix 要去掉的字符串
+     * @return 当前实例
+     */
+    public StrmanBuilder removeRight(final String suffix) {
+        return removeRight(suffix, true);
+    }
+
+    /**
+     * 以suffix结尾时去掉末尾的suffix， 与 {@link Strman#removeRight(String, String, boolean)} 相同
+     *
+     * @param suffix        要去掉的字符串
+     * @param caseSensitive 是否大小写敏感
+     * @return 当前实例
+     */
+    public StrmanBuilder removeRight(final String suffix, final boolean caseSensitive) {
+        Strman.validate(suffix, "'suffix' should be not null.");
+        if (regionMatches(count - suffix.length(), suffix, caseSensitive)) {
+            count -= suffix.length();
+        }
+        return this;
+    }
+
+    /**
+     * 去掉所有不是 [a-zA-Z_0-9] 的字符， 与 {@link Strman#removeNonWords(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder removeNonWords() {
+        int w = 0;
+        for (int i = 0; i < count; i++) {
+            if (Strman.isWordChar(value[i])) {
+                value[w++] = value[i];
+            }
+        }
+        count = w;
+        return this;
+    }
+
+    /**
+     * 去掉所有的空白， 与 {@link Strman#removeSpaces(String)} 相同
+     *
+     * @return 当前实例
+     */
+    public StrmanBuilder removeSpaces() {
+        int w = 0;
+        for (int i = 0; i < count; i++) {
+            if (!Strman.isWhitespace(value[i])) {
+                value[w++] = value[i];
+            }
+        }
+        count = w;
+        return this;
+    }
+
+    /**
+     * 在开头插入prefix并在末尾追加suffix， 与 {@link Strman#surround(String, String, String)} 相同
+     *
+     * @param prefix 开头插入的字符串， 为null时不插入
+     * @param suffix 末尾追加的字符串， 为null时不追加
+     * @return 当前实例
+     */
+    public StrmanBuilder surround(final String prefix, final String suffix) {
+        if (prefix != null) {
+            splice(0, 0, prefix);
+        }
+        if (suffix != null) {
+            splice(count, count, suffix);
+        }
+        return this;
+    }
+
+    /**
+     * 截断为length个字符， 末尾为filler， 与 {@link Strman#truncate(String, int, String)} 相同
+     *
+     * @param length 截断后的长度
+     * @param filler 末尾的字符串
+     * @return 当前实例
+     */
+    public StrmanBuilder truncate(final int length, final String filler) {
+        Strman.validate(filler, "'filler' should be not null.");
+        if (length == 0) {
+            count = 0;
+        } else if (length < count) {
+            int keep = length - filler.length();
+            if (keep < 0) {
+                throw new StringIndexOutOfBoundsException(keep);
+            }
+            splice(keep, count, filler);
+        }
+        return this;
+    }
+
+    /**
+     * 当前的长度
+     */
+    public int length() {
+        return count;
+    }
+
+    public char charAt(final int index) {
+        if (index < 0 || index >= count) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return value[index];
+    }
+
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > count || start > end) {
+            throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + count);
+        }
+        return new String(value, start, end - start);
+    }
+
+    /**
+     * 得到处理后的字符串， 只在这里复制一次字符
+     */
+    @Override
+    public String toString() {
+        return new String(value, 0, count);
+    }
+
+    /*
+     * 与String.trim相同， 去掉首尾小于等于' '的字符
+     */
+    private void trim() {
+        while (count > 0 && value[count - 1] <= ' ') {
+            count--;
+        }
+        int start = 0;
+        while (start < count && value[start] <= ' ') {
+            start++;
+        }
+        splice(0, start, "");
+    }
+
+    private static boolean isStudlySeparator(final char c) {
+        return c == '_' || c == '-' || Strman.isWhitespace(c);
+    }
+
+    /*
+     * 从offset开始是否为s， offset超出范围时为false
+     */
+    private boolean regionMatches(final int offset, final String s, final boolean caseSensitive) {
+        int length = s.length();
+        if (offset < 0 || offset + length > count) {
+            return false;
+        }
+        if (!caseSensitive) {
+            return new SubstringSearcher(s, true).matchesAt(this, offset);
+        }
+        for (int i = 0; i < length; i++) {
+            if (value[offset + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * 把[start, end)替换为s
+     */
+    private void splice(final int start, final int end, final String s) {
+        int length = s.length();
+        splice(start, end, 1, length);
+        s.getChars(0, length, value, start);
+    }
+
+    /*
+     * 把[start, end)替换为times * length个尚未填充的字符
+     */
+    private void splice(final int start, final int end, final int times, final int length) {
+        long inserted = (long) times * length;
+        long newCount = count - (end - start) + inserted;
+        if (newCount > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Required length exceeds implementation limit");
+        }
+        ensureCapacity((int) newCount);
+        System.arraycopy(value, end, value, start + (int) inserted, count - end);
+        count = (int) newCount;
+    }
+
+    private void ensureCapacity(final int minimum) {
+        if (minimum > value.length) {
+            int capacity = value.length * 2 + 2;
+            value = Arrays.copyOf(value, capacity - minimum < 0 ? minimum : capacity);
+        }
+    }
+}
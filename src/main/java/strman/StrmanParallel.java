@@ -0,0 +1,259 @@
+package strman;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 在ForkJoinPool中并行地对一批字符串执行同一个转换， 由 {@link Strman#parallel()} 创建。 <br/>
+ * 输入按下标二分成多个任务， 空闲的线程会窃取其他线程尚未执行的任务。 每个叶子任务处理一段连续的元素，
+ * 结果写回与输入相同的位置， 因此顺序不变， 每个元素的结果与 {@link Strman} 中的同名方法相同。 <br/>
+ * 每个工作线程（以及顺序执行时的调用线程）持有一个 {@link StrmanBatch}， 所有实例共用， 临时缓冲区和摘要实例在该线程执行的
+ * 所有叶子任务以及之后的调用中重复使用。 <br/>
+ * 元素个数小于阈值时在调用线程中顺序执行。 实例可以在多个线程中共用。
+ */
+public final class StrmanParallel {
+
+    /**
+     * 默认的阈值， 元素个数不小于该值时才并行执行
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /*
+     * 每个线程的临时缓冲区， 所有实例共用， 只在一个叶子任务内部使用， 不会被两个任务同时使用
+     */
+    private static final ThreadLocal<StrmanBatch> BATCHES = new ThreadLocal<StrmanBatch>() {
+        @Override
+        protected StrmanBatch initialValue() {
+            return new StrmanBatch();
+        }
+    };
+
+    StrmanParallel(final ForkJoinPool pool, final int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * 元素个数不小于该值时才并行执行
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * 对in中的每个字符串调用function， 结果依次写入out
+     *
+     * @param function 对每个元素的转换， 会在多个线程中同时调用
+     * @param in       输入的字符串
+     * @param out      输出， 长度不能小于in
+     */
+    public void apply(final StringFunction function, final String[] in, final String[] out) {
+        Strman.validate(function, "'function' should be not null.");
+        run(StrmanBatch.of(function), in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用function
+     *
+     * @param function 对每个元素的转换， 会在多个线程中同时调用
+     * @param in       输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> apply(final StringFunction function, final List<String> in) {
+        Strman.validate(function, "'function' should be not null.");
+        return run(StrmanBatch.of(function), in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#slugify(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void slugify(final String[] in, final String[] out) {
+        run(StrmanBatch.SLUGIFY, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#slugify(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> slugify(final List<String> in) {
+        return run(StrmanBatch.SLUGIFY, in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#transliterate(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void transliterate(final String[] in, final String[] out) {
+        run(StrmanBatch.TRANSLITERATE, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#transliterate(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> transliterate(final List<String> in) {
+        return run(StrmanBatch.TRANSLITERATE, in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#toKebabCase(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void toKebabCase(final String[] in, final String[] out) {
+        run(StrmanBatch.KEBAB_CASE, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#toKebabCase(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> toKebabCase(final List<String> in) {
+        return run(StrmanBatch.KEBAB_CASE, in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#toSnakeCase(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void toSnakeCase(final String[] in, final String[] out) {
+        run(StrmanBatch.SNAKE_CASE, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#toSnakeCase(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> toSnakeCase(final List<String> in) {
+        return run(StrmanBatch.SNAKE_CASE, in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#htmlEncode(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void htmlEncode(final String[] in, final String[] out) {
+        run(StrmanBatch.HTML_ENCODE, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#htmlEncode(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> htmlEncode(final List<String> in) {
+        return run(StrmanBatch.HTML_ENCODE, in);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#MD5(String)}， 结果依次写入out
+     *
+     * @param in  输入的字符串
+     * @param out 输出， 长度不能小于in
+     */
+    public void md5(final String[] in, final String[] out) {
+        run(StrmanBatch.MD5, in, out);
+    }
+
+    /**
+     * 对in中的每个字符串调用 {@link Strman#MD5(String)}
+     *
+     * @param in 输入的字符串
+     * @return 与in顺序相同的结果
+     */
+    public List<String> md5(final List<String> in) {
+        return run(StrmanBatch.MD5, in);
+    }
+
+    private void run(final StrmanBatch.Transform transform, final String[] in, final String[] out) {
+        Strman.validate(in, "'in' should be not null.");
+        Strman.validate(out, "'out' should be not null.");
+        if (out.length < in.length) {
+            throw new IllegalArgumentException("'out' should be not shorter than 'in'.");
+        }
+        int length = in.length;
+        if (length < threshold || pool.getParallelism() < 2) {
+            runRange(transform, in, 0, length, out);
+            return;
+        }
+        int chunkSize = Math.max(1, length / (pool.getParallelism() * 4));
+        pool.invoke(new TransformTask(transform, in, out, chunkSize, 0, length));
+    }
+
+    private List<String> run(final StrmanBatch.Transform transform, final List<String> in) {
+        Strman.validate(in, "'in' should be not null.");
+        String[] values = in.toArray(new String[in.size()]);
+        run(transform, values, values);
+        return new ArrayList<String>(Arrays.asList(values));
+    }
+
+    /*
+     * 使用当前线程的StrmanBatch转换[from, to)的元素
+     */
+    private static void runRange(final StrmanBatch.Transform transform, final String[] in, final int from, final int to, final String[] out) {
+        StrmanBatch batch = BATCHES.get();
+        try {
+            batch.run(transform, in, from, to, out);
+        } finally {
+            batch.trimScratch();
+        }
+    }
+
+    private static final class TransformTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final StrmanBatch.Transform transform;
+        private final String[] in;
+        private final String[] out;
+        private final int chunkSize;
+        private final int lo;
+        private final int hi;
+
+        TransformTask(StrmanBatch.Transform transform, String[] in, String[] out, int chunkSize, int lo, int hi) {
+            this.transform = transform;
+            this.in = in;
+            this.out = out;
+            this.chunkSize = chunkSize;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= chunkSize) {
+                runRange(transform, in, lo, hi, out);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            TransformTask left = new TransformTask(transform, in, out, chunkSize, lo, mid);
+            left.fork();
+            new TransformTask(transform, in, out, chunkSize, mid, hi).compute();
+            left.join();
+        }
+    }
+}
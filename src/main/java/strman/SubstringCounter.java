@@ -0,0 +1,163 @@
+package strman;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 统计子串出现的次数。 <br/>
+ * 并行统计时把输入按开始位置分块， 每块只统计开始位置在块内的匹配。 允许重叠时各块的结果直接相加；
+ * 不允许重叠时， 前一块最后一个匹配可能跨过边界， 此时从跨过的位置重新扫描后一块，
+ * 直到与后一块原来的匹配重合为止， 结果与从头顺序扫描完全一致。
+ */
+final class SubstringCounter {
+
+    /**
+     * 输入长度不小于该值时才并行统计
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    /*
+     * 每块记录的前几个匹配位置， 用来判断重新扫描是否已经与原来的结果重合
+     */
+    private static final int RECORDED_POSITIONS = 16;
+
+    private SubstringCounter() {
+    }
+
+    /*
+     * 顺序统计
+     */
+    static long count(final CharSequence value, final SubstringSearcher searcher, final boolean overlapping) {
+        int m = searcher.length();
+        if (m == 0) {
+            return 0;
+        }
+        int length = value.length();
+        int step = overlapping ? 1 : m;
+        long count = 0;
+        for (int p = searcher.indexOf(value, 0, length); p >= 0; p = searcher.indexOf(value, p + step, length)) {
+            count++;
+        }
+        return count;
+    }
+
+    /*
+     * 在pool中并行统计， 输入较短时退化为顺序统计
+     */
+    static long count(final CharSequence value, final SubstringSearcher searcher, final boolean overlapping, final ForkJoinPool pool) {
+        int length = value.length();
+        if (searcher.length() == 0 || length < PARALLEL_THRESHOLD || pool.getParallelism() < 2) {
+            return count(value, searcher, overlapping);
+        }
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, length / (pool.getParallelism() * 4));
+        return pool.invoke(new CountTask(value, searcher.prepare(), overlapping, chunkSize, 0, length)).count;
+    }
+
+    /*
+     * 一段输入中开始位置在块内的匹配的统计结果
+     */
+    private static final class Chunk {
+        private final long count;
+
+        /*
+         * 最后一个匹配的结束位置， 没有匹配时为扫描的开始位置
+         */
+        private final int exit;
+
+        /*
+         * 前RECORDED_POSITIONS个匹配的开始位置（升序）
+         */
+        private final int[] positions;
+
+        Chunk(long count, int exit, int[] positions) {
+            this.count = count;
+            this.exit = exit;
+            this.positions = positions;
+        }
+    }
+
+    private static final class CountTask extends RecursiveTask<Chunk> {
+        private static final long serialVersionUID = 1L;
+
+        private final CharSequence value;
+        private final SubstringSearcher searcher;
+        private final boolean overlapping;
+        private final int chunkSize;
+        private final int lo;
+        private final int hi;
+
+        CountTask(CharSequence value, SubstringSearcher searcher, boolean overlapping, int chunkSize, int lo, int hi) {
+            this.value = value;
+            this.searcher = searcher;
+            this.overlapping = overlapping;
+            this.chunkSize = chunkSize;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Chunk compute() {
+            if (hi - lo <= chunkSize) {
+                return scan(lo, null, 0, 0);
+            }
+            int mid = (lo + hi) >>> 1;
+            CountTask left = new CountTask(value, searcher, overlapping, chunkSize, lo, mid);
+            left.fork();
+            Chunk right = new CountTask(value, searcher, overlapping, chunkSize, mid, hi).compute();
+            return merge(left.join(), right, mid);
+        }
+
+        private Chunk merge(Chunk left, Chunk right, int mid) {
+            if (overlapping) {
+                return new Chunk(left.count + right.count, right.exit, null);
+            }
+            int entry = Math.max(left.exit, mid);
+            if (entry != mid) {
+                // 左边最后一个匹配跨过了边界， 右边需要从该匹配的结束位置重新扫描
+                right = scan(entry, right.positions, right.count, right.exit);
+            }
+            int[] positions = append(left.positions, right.positions, 0);
+            return new Chunk(left.count + right.count, right.exit, positions);
+        }
+
+        /*
+         * 从entry开始扫描到hi。 known为从块开头扫描得到的结果， 一旦遇到其中的匹配位置就直接使用剩下的结果
+         */
+        private Chunk scan(int entry, int[] known, long knownCount, int knownExit) {
+            int m = searcher.length();
+            int step = overlapping ? 1 : m;
+            int[] recorded = new int[overlapping ? 0 : RECORDED_POSITIONS];
+            int size = 0;
+            long count = 0;
+            int exit = entry;
+            for (int p = searcher.indexOf(value, entry, hi); p >= 0; p = searcher.indexOf(value, p + step, hi)) {
+                int index = known == null ? -1 : Arrays.binarySearch(known, p);
+                if (index >= 0) {
+                    int[] positions = append(Arrays.copyOf(recorded, size), known, index);
+                    return new Chunk(count + knownCount - index, knownExit, positions);
+                }
+                if (size < recorded.length) {
+                    recorded[size++] = p;
+                }
+                count++;
+                exit = p + m;
+            }
+            return new Chunk(count, exit, Arrays.copyOf(recorded, size));
+        }
+
+        /*
+         * 拼接first和second[from..]， 最多保留RECORDED_POSITIONS个
+         */
+        private static int[] append(int[] first, int[] second, int from) {
+            int length = Math.min(RECORDED_POSITIONS, first.length + second.length - from);
+            int[] positions = Arrays.copyOf(first, length);
+            if (length > first.length) {
+                System.arraycopy(second, from, positions, first.length, length - first.length);
+            }
+            return positions;
+        }
+    }
+}
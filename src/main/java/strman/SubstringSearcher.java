@@ -0,0 +1,194 @@
+package strman;
+
+import java.util.Arrays;
+
+/**
+ * 子串查找， 可以选择大小写不敏感。 <br/>
+ * 大小写不敏感时只对要查找的字符串做一次大小写折叠， 被查找的字符序列按字符逐个比较， 不会复制或转换为小写；
+ * 字符的比较规则与 {@link String#regionMatches(boolean, int, String, int, int)} 相同。
+ * 剩余长度较长时使用Horspool跳转表。 <br/>
+ * 跳转表在第一次需要时创建， 在多个线程之间共享前需要先调用 {@link #prepare()}。
+ */
+final class SubstringSearcher {
+
+    /*
+     * 剩余长度小于该值时逐个位置比较， 不值得创建跳转表
+     */
+    private static final int SKIP_THRESHOLD = 64;
+
+    private final char[] needle;
+    private final boolean ignoreCase;
+    private int[] forward;
+    private int[] backward;
+
+    SubstringSearcher(final CharSequence needle, final boolean ignoreCase) {
+        int length = needle.length();
+        this.ignoreCase = ignoreCase;
+        this.needle = new char[length];
+        for (int i = 0; i < length; i++) {
+            this.needle[i] = normalize(needle.charAt(i));
+        }
+    }
+
+    /*
+     * 先转换为大写再转换为小写， 两个字符折叠后相等即视为大小写不敏感地相等
+     */
+    static char fold(final char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /*
+     * 要查找的字符串的长度
+     */
+    int length() {
+        return needle.length;
+    }
+
+    /*
+     * 提前创建向前查找的跳转表， 之后indexOf不再修改实例， 可以在多个线程中同时使用
+     */
+    SubstringSearcher prepare() {
+        if (needle.length > 1) {
+            forwardSkip();
+        }
+        return this;
+    }
+
+    /*
+     * value从offset开始是否为要查找的字符串
+     */
+    boolean matchesAt(final CharSequence value, final int offset) {
+        return offset >= 0 && offset + needle.length <= value.length() && matches(value, offset, needle.length);
+    }
+
+    /*
+     * 与String.indexOf(String, int)相同的语义
+     */
+    int indexOf(final CharSequence value, final int from) {
+        if (needle.length == 0) {
+            return Math.min(Math.max(from, 0), value.length());
+        }
+        return indexOf(value, from, value.length());
+    }
+
+    /*
+     * 查找第一个开始位置在 [from, to) 之间的匹配， 匹配本身可以超过to
+     */
+    int indexOf(final CharSequence value, int from, final int to) {
+        int m = needle.length;
+        if (from < 0) {
+            from = 0;
+        }
+        int last = Math.min(value.length() - m, to - 1);
+        if (from > last) {
+            return -1;
+        }
+        if (m == 0) {
+            return from;
+        }
+        if (m == 1 || last - from < SKIP_THRESHOLD) {
+            char first = needle[0];
+            for (int i = from; i <= last; i++) {
+                if (normalize(value.charAt(i)) == first && matches(value, i, m)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int[] skip = forwardSkip();
+        char tail = needle[m - 1];
+        int i = from;
+        while (i <= last) {
+            char c = normalize(value.charAt(i + m - 1));
+            if (c == tail && matches(value, i, m - 1)) {
+                return i;
+            }
+            i += skip[c & 0xFF];
+        }
+        return -1;
+    }
+
+    /*
+     * 与String.lastIndexOf(String, int)相同的语义
+     */
+    int lastIndexOf(final CharSequence value, final int from) {
+        int m = needle.length;
+        int start = Math.min(from, value.length() - m);
+        if (start < 0) {
+            return -1;
+        }
+        if (m == 0) {
+            return start;
+        }
+        char first = needle[0];
+        if (m == 1 || start < SKIP_THRESHOLD) {
+            for (int i = start; i >= 0; i--) {
+                if (normalize(value.charAt(i)) == first && matches(value, i, m)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int[] skip = backwardSkip();
+        int i = start;
+        while (i >= 0) {
+            char c = normalize(value.charAt(i));
+            if (c == first && matches(value, i, m)) {
+                return i;
+            }
+            i -= skip[c & 0xFF];
+        }
+        return -1;
+    }
+
+    private char normalize(final char c) {
+        return ignoreCase ? fold(c) : c;
+    }
+
+    /*
+     * 比较value从offset开始的count个字符
+     */
+    private boolean matches(final CharSequence value, final int offset, final int count) {
+        for (int i = 0; i < count; i++) {
+            if (normalize(value.charAt(offset + i)) != needle[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * 以窗口最后一个字符的低8位为索引的跳转距离， 低8位相同的字符取最小距离
+     */
+    private int[] forwardSkip() {
+        if (forward == null) {
+            int m = needle.length;
+            int[] skip = new int[256];
+            Arrays.fill(skip, m);
+            for (int i = 0; i < m - 1; i++) {
+                skip[needle[i] & 0xFF] = m - 1 - i;
+            }
+            forward = skip;
+        }
+        return forward;
+    }
+
+    /*
+     * 从后向前查找时， 以窗口第一个字符的低8位为索引的跳转距离
+     */
+    private int[] backwardSkip() {
+        if (backward == null) {
+            int m = needle.length;
+            int[] skip = new int[256];
+            Arrays.fill(skip, m);
+            for (int i = m - 1; i > 0; i--) {
+                skip[needle[i] & 0xFF] = i;
+            }
+            backward = skip;
+        }
+        return backward;
+    }
+}
@@ -0,0 +1,242 @@
+package strman;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 预先编译的音译表， 将非ASCII字符替换为对应的ASCII字符串。 <br/>
+ * 单个BMP字符通过按高8位分页的数组直接索引， 辅助平面字符使用有序数组二分查找，
+ * 由多个字符组成的变体按长度从长到短匹配， 整个转换只扫描一遍输入。 <br/>
+ * 实例是不可变的， 可以在多个线程之间共享。
+ */
+public final class Transliterator {
+
+    /*
+     * 多字符变体按长度从长到短排列， 保证最长匹配
+     */
+    private static final Comparator<Mapping> LONGEST_FIRST = new Comparator<Mapping>() {
+        @Override
+        public int compare(Mapping left, Mapping right) {
+            return right.from.length() - left.from.length();
+        }
+    };
+
+    private static final Transliterator INSTANCE = new Transliterator(Ascii.ascii);
+
+    /*
+     * 单个BMP字符的替换规则， bmp[c >>> 8][c & 0xFF]
+     */
+    private final Mapping[][] bmp = new Mapping[256][];
+
+    /*
+     * 单个辅助平面字符的码点（升序）以及对应的替换规则
+     */
+    private final int[] astralCodePoints;
+    private final Mapping[] astralMappings;
+
+    /*
+     * 由多个字符组成的变体， 以第一个字符为键， 按长度从长到短排列
+     */
+    private final Map<Character, Mapping[]> sequences;
+    private final BitSet sequenceStarts = new BitSet(0x10000);
+
+    /**
+     * 根据音译表创建一个Transliterator
+     *
+     * @param table 键为替换后的字符串， 值为需要被替换的所有变体。 同一个变体出现多次时以第一次出现的为准
+     */
+    public Transliterator(final Map<String, ? extends Collection<String>> table) {
+        if (table == null) {
+            throw new IllegalArgumentException("'table' should be not null.");
+        }
+        Map<Integer, Mapping> astral = new TreeMap<Integer, Mapping>();
+        Map<Character, List<Mapping>> multi = new HashMap<Character, List<Mapping>>();
+        Map<String, Boolean> seen = new HashMap<String, Boolean>();
+        for (Map.Entry<String, ? extends Collection<String>> entry : table.entrySet()) {
+            for (String from : entry.getValue()) {
+                if (from == null || from.isEmpty() || seen.put(from, Boolean.TRUE) != null) {
+                    continue;
+                }
+                Mapping mapping = new Mapping(from, entry.getKey());
+                if (from.length() == 1) {
+                    char c = from.charAt(0);
+                    Mapping[] page = bmp[c >>> 8];
+                    if (page == null) {
+                        page = new Mapping[256];
+                        bmp[c >>> 8] = page;
+                    }
+                    page[c & 0xFF] = mapping;
+                } else if (from.length() == 2 && Character.isSurrogatePair(from.charAt(0), from.charAt(1))) {
+                    astral.put(from.codePointAt(0), mapping);
+                } else if (!claimed(seen, from)) {
+                    List<Mapping> list = multi.get(from.charAt(0));
+                    if (list == null) {
+                        list = new ArrayList<Mapping>();
+                        multi.put(from.charAt(0), list);
+                    }
+                    list.add(mapping);
+                }
+            }
+        }
+        astralCodePoints = new int[astral.size()];
+        astralMappings = new Mapping[astral.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Mapping> entry : astral.entrySet()) {
+            astralCodePoints[i] = entry.getKey();
+            astralMappings[i++] = entry.getValue();
+        }
+        sequences = new HashMap<Character, Mapping[]>();
+        for (Map.Entry<Character, List<Mapping>> entry : multi.entrySet()) {
+            Mapping[] mappings = entry.getValue().toArray(new Mapping[entry.getValue().size()]);
+            Arrays.sort(mappings, LONGEST_FIRST);
+            sequences.put(entry.getKey(), mappings);
+            sequenceStarts.set(entry.getKey());
+        }
+    }
+
+    /*
+     * 变体中的某个字符已经被前面的单字符变体替换时， 逐个替换的实现永远不会匹配到该变体，
+     * 这里同样忽略它， 保证结果与按表顺序逐个替换一致
+     */
+    private static boolean claimed(Map<String, Boolean> seen, String from) {
+        for (int i = 0; i < from.length(); i++) {
+            if (seen.containsKey(String.valueOf(from.charAt(i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 得到基于内置音译表的共享实例
+     *
+     * @return 共享的Transliterator
+     */
+    public static Transliterator getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 将字符串中所有可以音译的字符替换为ASCII字符串
+     *
+     * @param value 输入的字符串
+     * @return 替换后的字符串， 如果没有需要替换的字符则直接返回输入的字符串
+     */
+    public String transliterate(final String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("'value' should be not null.");
+        }
+        try {
+            Appendable out = transliterate(value, null);
+            return out == null ? value : out.toString();
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 将字符序列音译后写入到out中
+     *
+     * @param value 输入的字符序列
+     * @param out   输出的目标
+     * @throws IOException 写入out失败
+     */
+    public void transliterateTo(final Appendable out, final CharSequence value) throws IOException {
+        if (value == null) {
+            throw new IllegalArgumentException("'value' should be not null.");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("'out' should be not null.");
+        }
+        transliterate(value, out);
+    }
+
+    /*
+     * out为null时在遇到第一个需要替换的字符时才创建StringBuilder， 没有替换则返回null
+     */
+    private Appendable transliterate(final CharSequence value, Appendable out) throws IOException {
+        int length = value.length();
+        int start = 0;
+        int i = 0;
+        while (i < length) {
+            Mapping mapping = match(value, i, length);
+            if (mapping == null) {
+                i++;
+                continue;
+            }
+            if (out == null) {
+                out = new StringBuilder(length + 16);
+            }
+            out.append(value, start, i).append(mapping.to);
+            i += mapping.from.length();
+            start = i;
+        }
+        if (out != null) {
+            out.append(value, start, length);
+        }
+        return out;
+    }
+
+    /**
+     * 查找从index位置开始的最长变体
+     *
+     * @param value 输入的字符序列
+     * @param index 开始位置
+     * @param end   结束位置
+     * @return 匹配到的替换规则， 没有则返回null
+     */
+    Mapping match(final CharSequence value, final int index, final int end) {
+        char c = value.charAt(index);
+        if (sequenceStarts.get(c)) {
+            for (Mapping candidate : sequences.get(c)) {
+                if (candidate.matches(value, index, end)) {
+                    return candidate;
+                }
+            }
+        }
+        if (Character.isHighSurrogate(c)) {
+            if (index + 1 < end && Character.isLowSurrogate(value.charAt(index + 1))) {
+                int position = Arrays.binarySearch(astralCodePoints, Character.toCodePoint(c, value.charAt(index + 1)));
+                return position < 0 ? null : astralMappings[position];
+            }
+            return null;
+        }
+        Mapping[] page = bmp[c >>> 8];
+        return page == null ? null : page[c & 0xFF];
+    }
+
+    /**
+     * 一条替换规则： 将from替换为to
+     */
+    static final class Mapping {
+        final String from;
+        final String to;
+
+        Mapping(String from, String to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        boolean matches(CharSequence value, int index, int end) {
+            int length = from.length();
+            if (index + length > end) {
+                return false;
+            }
+            for (int i = 1; i < length; i++) {
+                if (value.charAt(index + i) != from.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
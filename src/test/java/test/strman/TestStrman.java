@@ -2,9 +2,57 @@ package test.strman;
 
 import static junit.framework.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CoderResult;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+import org.apache.commons.codec.BinaryEncoder;
+import org.apache.commons.codec.ByteBufferCodecs;
+import org.apache.commons.codec.ByteBufferEncoder;
+import org.apache.commons.codec.Charsets;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Base64Channels;
+import org.apache.commons.codec.binary.Base64InputStream;
+import org.apache.commons.codec.binary.Base64OutputStream;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.binary.StringUtils;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.Test;
 
+import strman.FormatTemplate;
+import strman.NeedleMatcher;
+import strman.PatternCache;
+import strman.StringFunction;
 import strman.Strman;
+import strman.StrmanBatch;
+import strman.StrmanBuilder;
+import strman.StrmanParallel;
+import strman.Transliterator;
 
 public class TestStrman {
 	
@@ -69,6 +117,21 @@ public class TestStrman {
 		String[] strs = {"foo", "bar"};
 		boolean flag1 = Strman.containsAll("foo bar", strs);
 		assertEquals(flag1, true);
+		assertFalse(Strman.containsAll("foo bar", new String[]{"baz", "bar"}));
+		assertTrue(Strman.containsAny("foo bar", new String[]{"BAR", "baz"}));
+		assertFalse(Strman.containsAny("foo bar", new String[]{"BAR", "baz"}, true));
+	}
+	
+	@Test
+	public void testCompileNeedles(){
+		NeedleMatcher matcher = Strman.compileNeedles(new String[]{"he", "she", "his", "hers", "SHE"}, true);
+		BitSet found = matcher.matching("ushers");
+		assertEquals("{0, 1, 3}", found.toString());
+		assertFalse(matcher.containsAll("ushers"));
+		assertTrue(Strman.compileNeedles(new String[]{"he", "she", "his", "hers", "SHE"}, false).containsAll("uSHErs his"));
+		assertTrue(Strman.compileNeedles(new String[]{"\u00E9t\u00E9", "\u03A3"}, false).containsAll("\u00C9T\u00C9 \u03C3"));
+		assertTrue(Strman.compileNeedles(new String[0], true).containsAll("x"));
+		assertFalse(Strman.compileNeedles(new String[0], true).containsAny("x"));
 	}
 	
 	@Test
@@ -76,6 +139,650 @@ public class TestStrman {
 		System.out.println(Strman.base64Encode("123123"));
 	}
 	
+	@Test
+	public void testMD5(){
+		for(int i=0; i<2; i++){
+			assertEquals("d41d8cd98f00b204e9800998ecf8427e", Strman.MD5(""));
+			assertEquals("acbd18db4cc2f85cedef654fccc4a4d8", Strman.MD5("foo"));
+		}
+	}
+	
+	@Test
+	public void testDigestOverloads() throws Exception{
+		StringBuilder builder = new StringBuilder();
+		for(int i=0; i<5000; i++){
+			builder.append("a\u00E9\u4E2D\uD83D\uDE00");
+		}
+		builder.append('\uD800');
+		String text = builder.toString();
+		byte[] bytes = text.getBytes("UTF-8");
+		String expected = Hex.encodeHexString(DigestUtils.md5(bytes));
+		assertEquals(expected, DigestUtils.md5Hex(text));
+		assertEquals(expected, Hex.encodeHexString(DigestUtils.digest(DigestUtils.getDigest("MD5"), builder)));
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip();
+		assertEquals(expected, Hex.encodeHexString(DigestUtils.digest(DigestUtils.getDigest("MD5"), direct)));
+		assertEquals(0, direct.position());
+		assertEquals(expected, Hex.encodeHexString(DigestUtils.digest(DigestUtils.getDigest("MD5"), ByteBuffer.wrap(bytes))));
+		File file = File.createTempFile("strman", ".txt");
+		try {
+			FileOutputStream out = new FileOutputStream(file);
+			out.write(bytes);
+			out.close();
+			assertEquals(expected, Hex.encodeHexString(DigestUtils.digest(DigestUtils.getDigest("MD5"), file.toPath())));
+			// 大于读取缓冲区的文件
+			MessageDigest repeated = DigestUtils.getDigest("MD5");
+			out = new FileOutputStream(file);
+			for(int i=0; i<3; i++){
+				out.write(bytes);
+				repeated.update(bytes);
+			}
+			out.close();
+			assertEquals(Hex.encodeHexString(repeated.digest()), Hex.encodeHexString(DigestUtils.digest(DigestUtils.getDigest("MD5"), file.toPath())));
+		} finally {
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testEncodeHex() throws Exception{
+		byte[] bytes = new byte[256];
+		for(int i=0; i<bytes.length; i++){
+			bytes[i] = (byte) i;
+		}
+		String expected = new String(Hex.encodeHex(bytes));
+		assertEquals("000102", expected.substring(0, 6));
+		assertEquals("feff", expected.substring(508));
+		assertEquals(expected, Hex.encodeHexString(bytes));
+		assertEquals(expected.toUpperCase(), Hex.encodeHexString(bytes, false));
+		assertEquals(expected, new String(new Hex().encode(bytes), "US-ASCII"));
+		char[] chars = new char[10];
+		assertEquals(9, Hex.encodeHex(bytes, 254, 2, chars, 5));
+		assertEquals("feff", new String(chars, 5, 4));
+		byte[] ascii = new byte[4];
+		assertEquals(4, Hex.encodeHex(bytes, 10, 2, ascii, 0, false));
+		assertEquals("0A0B", new String(ascii, "US-ASCII"));
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip();
+		CharBuffer target = CharBuffer.allocate(301);
+		assertEquals(150, Hex.encodeHex(direct, target, true));
+		assertEquals(150, direct.position());
+		assertEquals(expected.substring(0, 300), target.flip().toString());
+		assertEquals("x0a0b", Hex.encodeHex(bytes, 10, 2, new StringBuilder("x"), true).toString());
+		try {
+			Hex.encodeHex(bytes, 255, 2, chars, 0);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+		}
+	}
+	
+	@Test
+	public void testDecodeHex() throws Exception{
+		byte[] bytes = new byte[256];
+		for(int i=0; i<bytes.length; i++){
+			bytes[i] = (byte) i;
+		}
+		String hex = Hex.encodeHexString(bytes);
+		assertTrue(Arrays.equals(bytes, Hex.decodeHex(hex.toCharArray())));
+		assertTrue(Arrays.equals(bytes, Hex.decodeHex(hex.toUpperCase())));
+		assertTrue(Arrays.equals(bytes, Hex.decodeHex(new StringBuilder(hex))));
+		assertTrue(Arrays.equals(new byte[]{0x12, (byte) 0xAB}, Hex.decodeHex("\uFF11\uFF12aB")));
+		byte[] out = new byte[4];
+		assertEquals(3, Hex.decodeHex("xx0aFF", 2, 4, out, 1));
+		assertEquals(10, out[1]);
+		assertEquals(-1, out[2]);
+		byte[] ascii = hex.getBytes("US-ASCII");
+		assertEquals(2, Hex.decodeHex(ascii, 508, 4, out, 0));
+		assertEquals(-2, out[0]);
+		ByteBuffer direct = ByteBuffer.allocateDirect(ascii.length);
+		direct.put(ascii).flip();
+		ByteBuffer target = ByteBuffer.allocate(100);
+		assertEquals(100, Hex.decodeHex(direct, target));
+		assertEquals(200, direct.position());
+		assertEquals(99, target.get(99));
+		try {
+			Hex.decodeHex("0g");
+			fail();
+		} catch (DecoderException e) {
+			assertEquals("Illegal hexadecimal charcter g at index 1", e.getMessage());
+		}
+		try {
+			Hex.decodeHex(ByteBuffer.wrap("00zz".getBytes("US-ASCII")), ByteBuffer.allocate(2));
+			fail();
+		} catch (DecoderException e) {
+			assertEquals("Illegal hexadecimal charcter z at index 2", e.getMessage());
+		}
+		try {
+			Hex.decodeHex("abc");
+			fail();
+		} catch (DecoderException e) {
+		}
+	}
+	
+	@Test
+	public void testBase64OneShot() throws Exception{
+		String[] plain = {"", "f", "fo", "foo", "foob", "fooba", "foobar"};
+		String[] encoded = {"", "Zg==", "Zm8=", "Zm9v", "Zm9vYg==", "Zm9vYmE=", "Zm9vYmFy"};
+		for(int i=0; i<plain.length; i++){
+			assertEquals(encoded[i], new String(Base64.encodeBase64(plain[i].getBytes("US-ASCII")), "US-ASCII"));
+			assertEquals(plain[i], new String(Base64.decodeBase64(encoded[i].getBytes("US-ASCII")), "US-ASCII"));
+		}
+		assertEquals("Zm9vYg", new String(Base64.encodeBase64URLSafe("foob".getBytes("US-ASCII")), "US-ASCII"));
+		assertEquals("foob", new String(Base64.decodeBase64("Zm9v\r\n Yg".getBytes("US-ASCII")), "US-ASCII"));
+		assertEquals("foo", new String(Base64.decodeBase64("Zm9v=Ymfy".getBytes("US-ASCII")), "US-ASCII"));
+		byte[] bytes = new byte[57 * 3];
+		new Random(2).nextBytes(bytes);
+		byte[] chunked = Base64.encodeBase64Chunked(bytes);
+		assertEquals(3 * 78, chunked.length);
+		assertEquals('\n', chunked[chunked.length - 1]);
+		assertTrue(Arrays.equals(bytes, Base64.decodeBase64(chunked)));
+	}
+	
+	@Test
+	public void testBase64Text() throws Exception{
+		StringBuilder builder = new StringBuilder();
+		for(int i=0; i<300; i++){
+			builder.append("a\u00E9\u4E2D\uD83D\uDE00");
+		}
+		String text = builder.toString();
+		byte[] bytes = text.getBytes("UTF-8");
+		String chunked = Base64.encodeBase64String(bytes);
+		assertEquals(chunked, Base64.encodeBase64StringUtf8(text, true));
+		assertEquals(chunked, Base64.encodeBase64Utf8(builder, true, new StringBuilder()).toString());
+		String plain = new String(Base64.encodeBase64(bytes), "US-ASCII");
+		char[] chars = new char[(int) Base64.getEncodedLengthUtf8(text, false)];
+		assertEquals(chars.length, Base64.encodeBase64Utf8(text, false, chars, 0));
+		assertEquals(plain, new String(chars));
+		assertTrue(Arrays.equals(bytes, Base64.decodeBase64((CharSequence) chunked)));
+		assertTrue(Arrays.equals(bytes, Base64.decodeBase64(CharBuffer.wrap(chars))));
+		assertEquals("Pw==", Base64.encodeBase64StringUtf8("\uD800", false));
+		assertEquals("strman", Strman.base64Decode(Strman.base64Encode("strman")));
+	}
+	
+	@Test
+	public void testBase64Streams() throws Exception{
+		byte[] bytes = new byte[100000];
+		new Random(1).nextBytes(bytes);
+		byte[] expected = Base64.encodeBase64Chunked(bytes);
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		OutputStream out = new Base64OutputStream(encoded);
+		out.write(bytes, 0, 57);
+		out.write(bytes[57]);
+		out.write(bytes, 58, bytes.length - 58);
+		out.close();
+		assertTrue(Arrays.equals(expected, encoded.toByteArray()));
+		assertTrue(Arrays.equals(expected, readFully(new Base64InputStream(new ByteArrayInputStream(bytes), true))));
+		assertTrue(Arrays.equals(bytes, readFully(new Base64InputStream(new ByteArrayInputStream(expected)))));
+		ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+		out = new Base64OutputStream(decoded, false);
+		out.write(expected);
+		out.close();
+		assertTrue(Arrays.equals(bytes, decoded.toByteArray()));
+		assertEquals("QQ==", new String(readFully(new Base64InputStream(new ByteArrayInputStream(new byte[]{'A'}), true, 0, null)), "US-ASCII"));
+		assertTrue(Arrays.equals(new byte[]{'A'}, readFully(new Base64InputStream(new ByteArrayInputStream("QQ".getBytes("US-ASCII"))))));
+		
+		ReadableByteChannel channel = Base64Channels.newReadableChannel(Channels.newChannel(new ByteArrayInputStream(expected)));
+		assertTrue(Arrays.equals(bytes, readFully(Channels.newInputStream(channel))));
+		encoded.reset();
+		WritableByteChannel target = Base64Channels.newWritableChannel(Channels.newChannel(encoded));
+		target.write(ByteBuffer.wrap(bytes));
+		target.close();
+		assertTrue(Arrays.equals(expected, encoded.toByteArray()));
+	}
+	
+	@Test
+	public void testByteBufferCodecs() throws Exception{
+		byte[] bytes = new byte[1000];
+		new Random(1).nextBytes(bytes);
+		byte[] expected = Base64.encodeBase64Chunked(bytes);
+		Base64 base64 = new Base64();
+		ByteBuffer src = ByteBuffer.wrap(bytes);
+		ByteBuffer dst = ByteBuffer.allocateDirect(expected.length);
+		ByteBuffer small = ByteBuffer.allocate(100);
+		while(base64.encode(src, small, true) == CoderResult.OVERFLOW){
+			small.flip();
+			dst.put(small);
+			small.clear();
+		}
+		small.flip();
+		dst.put(small);
+		dst.flip();
+		assertEquals(ByteBuffer.wrap(expected), dst);
+		ByteBuffer decoded = ByteBuffer.allocate(bytes.length);
+		assertEquals(CoderResult.UNDERFLOW, base64.decode(dst, decoded, true));
+		assertTrue(Arrays.equals(bytes, decoded.array()));
+		
+		Hex hex = new Hex();
+		ByteBuffer digits = ByteBuffer.allocate(7);
+		assertEquals(CoderResult.OVERFLOW, hex.encode(ByteBuffer.wrap(new byte[]{1, 2, 3, (byte) 0xFF}), digits, true));
+		assertEquals("010203", new String(digits.array(), 0, digits.position(), "US-ASCII"));
+		ByteBuffer text = ByteBuffer.wrap("0a0bzz".getBytes("US-ASCII"));
+		decoded.clear();
+		assertTrue(hex.decode(text, decoded, true).isMalformed());
+		assertEquals(4, text.position());
+		assertEquals(2, decoded.position());
+		text = ByteBuffer.wrap("0a0".getBytes("US-ASCII"));
+		assertEquals(CoderResult.UNDERFLOW, hex.decode(text, decoded, false));
+		assertEquals(1, hex.decode(text, decoded, true).length());
+		
+		ByteBufferEncoder adapter = ByteBufferCodecs.adapt((BinaryEncoder) new BinaryEncoder(){
+			public byte[] encode(byte[] pArray){
+				return Base64.encodeBase64Chunked(pArray);
+			}
+			public Object encode(Object pObject){
+				return pObject;
+			}
+		});
+		assertSame(base64, ByteBufferCodecs.adapt((BinaryEncoder) base64));
+		dst.clear();
+		assertEquals(CoderResult.UNDERFLOW, adapter.encode(ByteBuffer.wrap(bytes, 0, 500), dst, false));
+		assertEquals(0, dst.position());
+		assertEquals(CoderResult.UNDERFLOW, adapter.encode(ByteBuffer.wrap(bytes, 500, 500), dst, true));
+		dst.flip();
+		assertEquals(ByteBuffer.wrap(expected), dst);
+	}
+	
+	@Test
+	public void testStringUtilsCharsets() throws Exception{
+		String text = "strman \u00E9\u4E2D\uD83D\uDE00";
+		assertSame(Charsets.UTF_8, Charsets.toCharset("utf-8"));
+		assertTrue(Arrays.equals(text.getBytes("UTF-8"), StringUtils.getBytes(text, Charsets.UTF_8)));
+		assertTrue(Arrays.equals(text.getBytes("UTF-16LE"), StringUtils.getBytesUnchecked(text, "UTF-16LE")));
+		assertEquals(text, StringUtils.newString(text.getBytes("UTF-8"), Charsets.UTF_8));
+		assertNull(StringUtils.getBytes(null, Charsets.UTF_8));
+		try{
+			StringUtils.newString(new byte[0], "no-such-charset");
+			fail();
+		}catch(IllegalStateException e){
+		}
+		assertSame(StringUtils.getEncoder(Charsets.UTF_8), StringUtils.getEncoder(Charsets.UTF_8));
+		assertSame(StringUtils.getDecoder(Charsets.US_ASCII), StringUtils.getDecoder(Charsets.US_ASCII));
+		char[] chars = new char[8];
+		assertEquals(7, StringUtils.getChars(new StringBuilder("1234567\uD83D\uDE00"), 0, chars));
+		assertEquals(2, StringUtils.getChars("1234567\uD83D\uDE00", 7, chars));
+	}
+	
+	private static byte[] readFully(InputStream in) throws IOException{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1000];
+		for(int n; (n = in.read(buffer)) != -1;){
+			out.write(buffer, 0, n);
+		}
+		in.close();
+		return out.toByteArray();
+	}
+	
+	@Test
+	public void testTransliterate(){
+		assertEquals("foo bar", Strman.transliterate("fóõ bár"));
+		String plain = "foo bar";
+		assertSame(plain, Strman.transliterate(plain));
+		
+		Map<String, List<String>> table = new HashMap<String, List<String>>();
+		table.put("ss", Arrays.asList("ß"));
+		table.put("ae", Arrays.asList("ä", "a\u0308"));
+		Transliterator transliterator = new Transliterator(table);
+		assertEquals("strasse aep ae", transliterator.transliterate("straße a\u0308p ä"));
+	}
+	
+	@Test
+	public void testSlugify(){
+		assertEquals("foo-bar", Strman.slugify("foo bar"));
+		assertEquals("tom-and-jerry-s-cafe", Strman.slugify("  Tom &   Jerry's Café "));
+		assertEquals("and-foo", Strman.slugify("&foo"));
+		assertEquals("", Strman.slugify("中文"));
+		assertEquals("hello_world", Strman.slugify("Hello World & friends", "_", 11));
+		assertEquals("hello", Strman.slugify("Hello World", "-", 6));
+		assertEquals("hello-wo", Strman.slugify("Hello World", "-", 8));
+	}
+	
+	@Test
+	public void testRadixEncode() throws Exception{
+		String text = "A\u4E2D\uFFFF";
+		assertEquals("00414e2dffff", Strman.hexEncode(text));
+		assertEquals("000652001365535", Strman.decEncode(text));
+		assertEquals("0000000001000001", Strman.binEncode("A"));
+		assertEquals(text, Strman.hexDecode("00414E2Dffff"));
+		assertEquals(text, Strman.binDecode(Strman.binEncode(text)));
+		assertEquals(text, Strman.decDecode(Strman.decEncode(text)));
+		assertEquals("414e2d", Strman.encode("A\u4E2D", 2, 16));
+		assertEquals("\uD83D\uDE00", Strman.decode("1f600", 5, 16));
+		StringBuilder builder = new StringBuilder();
+		for(int i=0; i<20000; i++){
+			builder.append((char) (i * 7));
+		}
+		StringWriter encoded = new StringWriter();
+		Strman.hexEncode(new StringReader(builder.toString()), encoded);
+		assertEquals(Strman.hexEncode(builder.toString()), encoded.toString());
+		StringWriter decoded = new StringWriter();
+		Strman.hexDecode(new StringReader(encoded.toString()), decoded);
+		assertEquals(builder.toString(), decoded.toString());
+		try{
+			Strman.hexDecode("00zz");
+			fail();
+		}catch(NumberFormatException e){
+		}
+	}
+	
+	@Test
+	public void testCharSequenceOverloads(){
+		StringBuilder value = new StringBuilder("<Foo bar_baz foo>");
+		assertTrue(Strman.contains(value, "FOO"));
+		assertFalse(Strman.contains(value, "FOO", true));
+		assertTrue(Strman.containsAll(value, new String[]{"foo", "BAR"}));
+		assertFalse(Strman.containsAny(value, new String[]{"qux"}, true));
+		assertEquals(4, Strman.countSubstr(value, "o"));
+		assertEquals(13, Strman.indexOf(value, "FOO", 2, false));
+		assertEquals(13, Strman.lastIndexOf(value, "foo"));
+		assertEquals(1, Strman.lastIndexOf(value, "foo", 12, false));
+		assertTrue(Strman.startsWith(value, "<foo", false));
+		assertTrue(Strman.startsWith(value, "bar", 5, true));
+		assertTrue(Strman.endsWith(value, "FOO>", false));
+		assertTrue(Strman.isEnclosedBetween(value, "<", ">"));
+		assertFalse(Strman.isUpperCase(value));
+		assertTrue(Strman.isLowerCase(new StringBuilder("foo")));
+		assertTrue(Arrays.equals(new String[]{"", "Foo", "bar_baz", "foo"}, Strman.words(value)));
+		assertTrue(Arrays.equals(new String[]{"<Foo", "bar", "baz", "foo>"}, Strman.split(value, "[ _]")));
+	}
+	
+	@Test
+	public void testAppendableTargets() throws Exception{
+		StringBuilder out = new StringBuilder("> ");
+		Strman.toSnakeCaseTo(out, "  Hello World-foo ");
+		assertEquals("> hello_world_foo", out.toString());
+		StringWriter writer = new StringWriter();
+		Strman.slugifyTo(writer, "Tom & Jerry");
+		Strman.leftPadTo(writer, "1", "0", 3);
+		Strman.rightPadTo(writer, "1", "0", 3);
+		Strman.repeatTo(writer, "ab", 2);
+		Strman.transliterateTo(writer, "f\u00F3");
+		assertEquals("tom-and-jerry001100ababfo", writer.toString());
+		out.setLength(0);
+		Strman.hexEncodeTo(out, "A\u4E2D");
+		Strman.encodeTo(out, "A", 3, 10);
+		assertEquals(Strman.hexEncode("A\u4E2D") + "065", out.toString());
+	}
+	
+	@Test
+	public void testStrmanBuilder() throws Exception{
+		String value = "  x foo\t\t bar  ";
+		assertEquals(Strman.ensureRight(Strman.removeLeft(Strman.collapseWhitespace(value), "x"), "/"),
+				Strman.builder(value).collapseWhitespace().removeLeft("x").ensureRight("/").toString());
+		assertEquals("<-hello_world-->", Strman.builder("Hello World").toSnakeCase().leftPad("-", 12).rightPad("-", 14).surround("<", ">").toString());
+		assertEquals("fOO-bar", Strman.builder("foo bar").replace("o", "O", true).replace(" b", "-B", false).replace("B", "b", true).toString());
+		assertEquals("xaxbx", Strman.builder("ab").replace("", "x", true).toString());
+		assertEquals("Strm...", Strman.builder("Strman").append("Java").truncate(7, "...").toString());
+		StrmanBuilder builder = Strman.builder("aBc").capitalize();
+		assertEquals(3, builder.length());
+		assertEquals('A', builder.charAt(0));
+		assertEquals("bc", builder.subSequence(1, 3).toString());
+		assertEquals("abc", Strman.leftPad("abc", "0", 3));
+		for (String input : new String[]{"", "  ", "\u0130stanbul Road"}) {
+			StringBuilder out = new StringBuilder();
+			Strman.toSnakeCaseTo(out, input);
+			assertEquals(Strman.toSnakeCase(input), out.toString());
+			assertEquals(Strman.toSnakeCase(input), Strman.builder(input).toSnakeCase().toString());
+			assertEquals(Arrays.asList(Strman.toSnakeCase(input)), Strman.batch().toSnakeCase(Arrays.asList(input)));
+			assertEquals(Strman.toCamelCase(input), Strman.builder(input).toCamelCase().toString());
+			assertEquals(Strman.upperFirst(input), Strman.builder(input).upperFirst().toString());
+		}
+		assertEquals("", Strman.toKebabCase(" "));
+	}
+	
+	@Test
+	public void testHtmlEncode(){
+		assertEquals("&LT;b&GT;Tom &AMP; Jerry", Strman.htmlEncode("<b>Tom & Jerry"));
+		assertEquals("caf&eacute; &yscr; &nvlt;", Strman.htmlEncode("caf\u00E9 \uD835\uDCCE \u003C\u20D2"));
+		String plain = "hello world";
+		assertSame(plain, Strman.htmlEncode(plain));
+		assertSame("fjord", Strman.htmlEncode("fjord"));
+	}
+	
+	@Test
+	public void testHtmlDecode(){
+		assertEquals("<b>Tom & Jerry</b>", Strman.htmlDecode("&lt;b&gt;Tom &amp; Jerry&lt;/b&gt;"));
+		assertEquals("\u00AC\u2209 \u00E9 \uD835\uDCCE \uD83D\uDE00 A", Strman.htmlDecode("&not&notin; &eacute; &yscr; &#x1F600; &#65;"));
+		assertEquals("&unknown; & &#;", Strman.htmlDecode("&unknown; & &#;"));
+		assertEquals("\uFFFD \uFFFD \uFFFD \uFFFD", Strman.htmlDecode("&#xFFFFFFFF; &#x80000000; &#x110000; &#99999999;"));
+		String plain = "hello world";
+		assertSame(plain, Strman.htmlDecode(plain));
+	}
+	
+	@Test
+	public void testHtmlDecodeStream() throws Exception{
+		StringBuilder html = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for(int i=0; i<5000; i++){
+			html.append("a&amp;b&lt;&#x41;");
+			expected.append("a&b<A");
+		}
+		StringWriter writer = new StringWriter();
+		Strman.htmlDecode(new StringReader(html.toString()), writer);
+		assertEquals(expected.toString(), writer.toString());
+	}
+	
+	@Test
+	public void testHtmlEncodeTo() throws Exception{
+		StringBuilder builder = new StringBuilder("> ");
+		Strman.htmlEncodeTo(builder, "a<b");
+		assertEquals("> a&LT;b", builder.toString());
+	}
+	
+	@Test
+	public void testWhitespaceScanners(){
+		assertEquals("a b\tc d", Strman.collapseWhitespace("  a \t b\tc\n\nd "));
+		assertEquals("abc \t", Strman.leftTrim(" \n\tabc \t"));
+		assertEquals(" abc", Strman.rightTrim(" abc \r\n"));
+		assertEquals("abc", Strman.removeSpaces(" a\tb c "));
+		assertEquals("a_1b", Strman.removeNonWords("a_1 - b!"));
+		assertTrue(Arrays.equals(new String[]{"", "hello", "world"}, Strman.words("  hello, world!!")));
+		assertEquals("HelloWorldFooBar", Strman.toStudlyCase(" hello_world - foo  bar "));
+		assertEquals("hello-world-foo", Strman.toDecamelize("helloWorldFoo", "-"));
+	}
+	
+	@Test
+	public void testDecamelizeLowerCasesWholeWords() throws Exception{
+		// 词尾的\u03A3转换为\u03C2， \u0130转换为i加组合点
+		String[] values = {"\u039F\u0394\u039F\u03A3 test", "hello\u03A3 World", "foo\u0130bar"};
+		String[] expected = {"\u03BF\u03B4\u03BF\u03C2-test", "hello\u03C2-world", "fooi\u0307bar"};
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(expected[i], Strman.toKebabCase(values[i]));
+			assertEquals(expected[i].replace('-', '_'), Strman.toSnakeCase(values[i]));
+			StringBuilder out = new StringBuilder();
+			Strman.toKebabCaseTo(out, values[i]);
+			assertEquals(expected[i], out.toString());
+			assertEquals(expected[i], Strman.builder(values[i]).toKebabCase().toString());
+			assertEquals(Arrays.asList(expected[i]), Strman.batch().toKebabCase(Arrays.asList(values[i])));
+		}
+	}
+	
+	@Test
+	public void testPatternCache(){
+		PatternCache cache = new PatternCache(2);
+		assertSame(cache.compile("a+"), cache.compile("a+"));
+		assertNotSame(cache.compile("a+"), cache.compile("a+", Pattern.CASE_INSENSITIVE));
+		cache.compile("b+");
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+		assertTrue(Arrays.equals(new String[]{"a", "b", "c"}, Strman.split("a1b22c", "\\d+")));
+		assertEquals("x x", Strman.replace("aA aa", "aa", "x", false));
+	}
+	
+	@Test
+	public void testFormat() throws Exception{
+		assertEquals("foo bar foo {1}", Strman.format("{0} {1} {0} {2}", "foo", "bar", "{1}"));
+		assertEquals("{a {0 {}", Strman.format("{a {0 {}"));
+		FormatTemplate template = Strman.compileFormat("[{1}] {0}");
+		assertSame(template, Strman.compileFormat("[{1}] {0}"));
+		StringBuilder builder = new StringBuilder();
+		template.formatTo(builder, "message", "INFO");
+		assertEquals("[INFO] message", builder.toString());
+		try {
+			template.format("only");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("params does not have value for {1}", e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testIgnoreCaseSearch(){
+		StringBuilder builder = new StringBuilder();
+		for(int i=0; i<100; i++){
+			builder.append("abcde");
+		}
+		String value = builder + "FooBAR" + builder;
+		assertTrue(Strman.contains(value, "foobar", false));
+		assertEquals(500, Strman.indexOf(value, "fOObar", 0, false));
+		assertEquals(-1, Strman.indexOf(value, "fOObar", 501, false));
+		assertEquals(500, Strman.lastIndexOf(value, "FOOBAR", false));
+		assertEquals(200, Strman.countSubstr(value, "ABCDE", false, false));
+		assertEquals(3, Strman.countSubstr("aAaA", "aa", false, true));
+		assertEquals("bar", Strman.removeLeft("FOObar", "foo", false));
+		assertEquals("FOO", Strman.removeRight("FOObar", "BAR", false));
+		assertEquals("!", Strman.removeLeft("\u00C9t\u00E9!", "\u00E9T\u00C9", false));
+	}
+	
+	@Test
+	public void testCountSubstr(){
+		assertEquals(2, Strman.countSubstr("aaaaa", "aa"));
+		assertEquals(4, Strman.countSubstr("aaaaa", "aa", true, true));
+		assertEquals(0, Strman.countSubstr("aaaaa", ""));
+		assertEquals(2, Strman.countSubstr(new StringBuilder("xAbxab"), "ab", false, false));
+		char[] chars = new char[3000001];
+		Arrays.fill(chars, 'a');
+		String value = new String(chars);
+		assertEquals(1500000, Strman.countSubstr(value, "aa"));
+		assertEquals(1500000, Strman.countSubstrParallel(value, "aa", true, false));
+		assertEquals(3000000, Strman.countSubstrParallel(value, "AA", false, true));
+		assertEquals(1000000, Strman.countSubstrParallel(value, "aaa", true, false, new ForkJoinPool(4)));
+	}
+	
+	@Test
+	public void testStrmanBatch(){
+		String[] in = {"Foo Bar", "fooBar", "<b>Tom & Jerry", "caf\u00E9"};
+		String[] out = new String[in.length];
+		StrmanBatch batch = Strman.batch();
+		batch.slugify(in, out);
+		for (int i = 0; i < in.length; i++) {
+			assertEquals(Strman.slugify(in[i]), out[i]);
+		}
+		assertEquals(4, batch.getLastCount());
+		assertEquals(31, batch.getLastChars());
+		assertTrue(batch.getLastNanos() > 0);
+		assertEquals(Arrays.asList("foo-bar", "foo-bar"), batch.toKebabCase(Arrays.asList("Foo Bar", "fooBar")));
+		assertEquals(Arrays.asList("foo_bar"), batch.toSnakeCase(Arrays.asList("fooBar")));
+		assertEquals(Arrays.asList(Strman.htmlEncode(in[2])), batch.htmlEncode(Arrays.asList(in[2])));
+		List<String> md5 = batch.md5(Arrays.asList(in));
+		for (int i = 0; i < in.length; i++) {
+			assertEquals(Strman.MD5(in[i]), md5.get(i));
+		}
+		try {
+			batch.md5(in, new String[1]);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+	
+	@Test
+	public void testStrmanParallel(){
+		String[] in = new String[20000];
+		for (int i = 0; i < in.length; i++) {
+			in[i] = "Foo Bar caf\u00E9 " + i;
+		}
+		String[] out = new String[in.length];
+		StrmanParallel parallel = Strman.parallel(new ForkJoinPool(4), 100);
+		assertEquals(100, parallel.getThreshold());
+		parallel.slugify(in, out);
+		for (int i = 0; i < in.length; i++) {
+			assertEquals(Strman.slugify(in[i]), out[i]);
+		}
+		List<String> result = parallel.apply(new StringFunction() {
+			@Override
+			public String apply(String value) {
+				return Strman.toKebabCase(value);
+			}
+		}, Arrays.asList(in));
+		assertEquals(in.length, result.size());
+		for (int i = 0; i < in.length; i++) {
+			assertEquals(Strman.toKebabCase(in[i]), result.get(i));
+		}
+		assertEquals(Arrays.asList(Strman.MD5("a")), Strman.parallel().md5(Arrays.asList("a")));
+		in[12345] = null;
+		try {
+			parallel.md5(in, out);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+	
+	@Test
+	public void testNoCovariantBufferCalls() throws Exception{
+		// JDK 9+为ByteBuffer等增加了协变返回的position(int)、 clear()等方法， 链接到这些方法的类在Java 7/8上会抛出NoSuchMethodError
+		File classes = new File(Strman.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		List<String> found = new ArrayList<String>();
+		collectCovariantBufferCalls(classes, found);
+		assertEquals("[]", found.toString());
+	}
+	
+	private static void collectCovariantBufferCalls(File file, List<String> found) throws IOException{
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				collectCovariantBufferCalls(child, found);
+			}
+			return;
+		}
+		if (!file.getName().endsWith(".class")) {
+			return;
+		}
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(readFully(new FileInputStream(file))));
+		in.skipBytes(8);
+		int count = in.readUnsignedShort();
+		String[] utf8 = new String[count];
+		int[] first = new int[count];
+		int[] second = new int[count];
+		byte[] tags = new byte[count];
+		for (int i = 1; i < count; i++) {
+			tags[i] = in.readByte();
+			switch (tags[i]) {
+			case 1:
+				utf8[i] = in.readUTF();
+				break;
+			case 3: case 4:
+				in.skipBytes(4);
+				break;
+			case 5: case 6:
+				in.skipBytes(8);
+				i++;
+				break;
+			case 15:
+				in.skipBytes(3);
+				break;
+			case 7: case 8: case 16: case 19: case 20:
+				first[i] = in.readUnsignedShort();
+				break;
+			default:
+				first[i] = in.readUnsignedShort();
+				second[i] = in.readUnsignedShort();
+			}
+		}
+		Pattern buffer = Pattern.compile("java/nio/\\w+Buffer");
+		Pattern methods = Pattern.compile("position|limit|mark|reset|clear|flip|rewind");
+		for (int i = 1; i < count; i++) {
+			if (tags[i] != 10) {
+				continue;
+			}
+			String owner = utf8[first[first[i]]];
+			String name = utf8[first[second[i]]];
+			String descriptor = utf8[second[second[i]]];
+			if (buffer.matcher(owner).matches() && methods.matcher(name).matches() && descriptor.endsWith(")L" + owner + ";")) {
+				found.add(file.getName() + ": " + owner + "." + name + descriptor);
+			}
+		}
+	}
+	
 	
 	
 	